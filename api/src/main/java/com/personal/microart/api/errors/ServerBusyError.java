@@ -0,0 +1,28 @@
+package com.personal.microart.api.errors;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * API error that occurs when the server rejects work because it is overloaded, e.g. too many passwords are being
+ * hashed at the same time. Error contains HTTP status code 503 (Service unavailable) and the number of seconds after
+ * which the client may retry, sent as the Retry-After header.
+ */
+@Getter
+public class ServerBusyError extends BaseApiError {
+    private static final Long DEFAULT_RETRY_AFTER_SECONDS = 1L;
+
+    private final Long retryAfterSeconds;
+
+    @Builder
+    public ServerBusyError(Long retryAfterSeconds) {
+        super(503, "Server busy, try again later.");
+        this.retryAfterSeconds = Optional.ofNullable(retryAfterSeconds).orElse(DEFAULT_RETRY_AFTER_SECONDS);
+    }
+
+    public static ServerBusyError fromThrowable(Throwable throwable) {
+        return ServerBusyError.builder().build();
+    }
+}
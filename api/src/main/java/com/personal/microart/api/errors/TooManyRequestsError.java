@@ -0,0 +1,19 @@
+package com.personal.microart.api.errors;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * API error that occurs when a client or user exceeds its rate limit. Error contains HTTP status code 429 (Too many
+ * requests) and the number of seconds after which the client may retry, sent as the Retry-After header.
+ */
+@Getter
+public class TooManyRequestsError extends BaseApiError {
+    private final Long retryAfterSeconds;
+
+    @Builder
+    public TooManyRequestsError(Long retryAfterSeconds) {
+        super(429, "Too many requests.");
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -10,4 +10,8 @@ import lombok.*;
 public class BrowseInput implements ProcessorInput {
 
     private String uri;
+
+    private Integer limit;
+
+    private String cursor;
 }
@@ -6,8 +6,11 @@ import com.personal.microart.api.base.Processor;
 /**
  * The BrowseOperation interface represents a browsing operation of a vault. It lists all the public vaults and
  * artefacts and the vaults and artefacts that the current user is authorized to see. Provides link for artefact
- * download. Response is structured as a {@link Content} object that allows for easy frontend rendering. Returns
- * {@link com.personal.microart.api.errors.ServiceUnavailableError ServiceUnavailableError} if
+ * download. Response is structured as a {@link Content} object that allows for easy frontend rendering. The content
+ * is paginated: at most {@code limit} entries are returned, and the {@code nextCursor} of the result is passed as
+ * {@code cursor} to get the next page. The cursor is null on the last page. Returns
+ * {@link com.personal.microart.api.errors.ConstraintViolationError ConstraintViolationError} if the limit or the
+ * cursor is invalid and {@link com.personal.microart.api.errors.ServiceUnavailableError ServiceUnavailableError} if
  * database is not available.
  */
 public interface BrowseOperation extends Processor<BrowseResult, BrowseInput> {
@@ -3,7 +3,7 @@ package com.personal.microart.api.operations.browse;
 import com.personal.microart.api.base.ProcessorResult;
 import lombok.*;
 
-import java.util.Set;
+import java.util.List;
 
 @Getter
 @Setter(AccessLevel.PRIVATE)
@@ -11,6 +11,8 @@ import java.util.Set;
 @AllArgsConstructor
 public class BrowseResult implements ProcessorResult {
 
-    private Set<Content> content;
+    private List<Content> content;
+
+    private String nextCursor;
 
 }
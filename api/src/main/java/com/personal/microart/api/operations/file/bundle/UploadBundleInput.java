@@ -0,0 +1,28 @@
+package com.personal.microart.api.operations.file.bundle;
+
+import com.personal.microart.api.base.ProcessorInput;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.*;
+
+import java.io.InputStream;
+
+@Getter
+@Setter(AccessLevel.PRIVATE)
+@Builder
+@AllArgsConstructor
+public class UploadBundleInput implements ProcessorInput {
+
+    /**
+     * The zip or tar archive. It is read only after the upload is validated and unpacked as it is streamed.
+     */
+    private InputStream content;
+
+    @NotEmpty
+    private String authentication;
+
+    /**
+     * The vault to deploy to, e.g. /bundle/username/vaultName
+     */
+    private String uri;
+
+}
@@ -0,0 +1,19 @@
+package com.personal.microart.api.operations.file.bundle;
+
+
+import com.personal.microart.api.base.Processor;
+/**
+ * Uploads a whole deployment at once, e.g. the jar, pom, sources, javadoc, metadata and checksums of a module, packed
+ * in a zip or tar archive. The paths of the archive entries are relative to the vault. Every file is validated and
+ * stored as if it was uploaded on its own, and all of them are committed together or not at all.
+ *  Returns the following errors:
+ *  <ul>
+ *      <li>{@link com.personal.microart.api.errors.ConstraintViolationError ConstraintViolationError} if the archive is invalid, a filename is invalid or a checksum does not match</li>
+ *      <li>{@link com.personal.microart.api.errors.InvalidCredentialsError InvalidCredentialsError} if the user is not authorized to upload</li>
+ *      <li>{@link com.personal.microart.api.errors.FileUploadError FileUploadError} if a file could not be written to disk</li>
+ *      <li>{@link com.personal.microart.api.errors.ServiceUnavailableError ServiceUnavailableError} if the database is not available</li>
+ *  </ul>
+ */
+public interface UploadBundleOperation extends Processor<UploadBundleResult, UploadBundleInput> {
+
+}
@@ -0,0 +1,19 @@
+package com.personal.microart.api.operations.file.bundle;
+
+import com.personal.microart.api.base.ProcessorResult;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter(AccessLevel.PRIVATE)
+@Builder
+@AllArgsConstructor
+public class UploadBundleResult implements ProcessorResult {
+
+    /**
+     * The URIs of all files deployed from the bundle.
+     */
+    private List<String> uris;
+
+}
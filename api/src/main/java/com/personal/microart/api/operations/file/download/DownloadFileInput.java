@@ -10,4 +10,9 @@ public class DownloadFileInput implements ProcessorInput {
 
     private String authentication;
     private String uri;
+
+    /**
+     * When true, only the file metadata is resolved, e.g. for HEAD requests, and the file content is never read.
+     */
+    private Boolean metadataOnly;
 }
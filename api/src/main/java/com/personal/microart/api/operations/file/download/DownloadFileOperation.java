@@ -4,7 +4,9 @@ package com.personal.microart.api.operations.file.download;
 import com.personal.microart.api.base.Processor;
 
 /**
- * Tries to download a file from a given URI. The file is read from the file system and returned as a byte array.
+ * Tries to download a file from a given URI. The file is resolved from the artefact metadata alone and returned as a
+ *  path together with its size, upload time and ETag, so it can be streamed to the client without being loaded into
+ *  memory, or used to answer HEAD requests without touching the file system.
  *  Returns the following errors:
  *  <ul>
  *      <li>{@link com.personal.microart.api.errors.FileNotFoundError FileNotFoundError} if the file is not found or user is not authorized</li>
@@ -3,13 +3,31 @@ package com.personal.microart.api.operations.file.download;
 import com.personal.microart.api.base.ProcessorResult;
 import lombok.*;
 
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Map;
+
 @Getter
 @Setter(AccessLevel.PRIVATE)
 @Builder
 @AllArgsConstructor
 public class DownloadFileResult implements ProcessorResult {
 
-    private byte[] content;
+    private Path file;
+    private Long size;
+    private Instant lastModified;
+    private String etag;
     private String filename;
 
+    /**
+     * The checksums of the file keyed by algorithm, e.g. sha1. Empty for files uploaded before checksums were recorded.
+     */
+    private Map<String, String> checksums;
+
+    /**
+     * The file content for small, cached files. Null when the file must be streamed from disk.
+     */
+    private ByteBuffer content;
+
 }
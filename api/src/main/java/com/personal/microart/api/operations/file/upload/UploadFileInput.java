@@ -4,13 +4,18 @@ import com.personal.microart.api.base.ProcessorInput;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.*;
 
+import java.io.InputStream;
+
 @Getter
 @Setter(AccessLevel.PRIVATE)
 @Builder
 @AllArgsConstructor
 public class UploadFileInput implements ProcessorInput {
 
-    private byte[] content;
+    /**
+     * The request body. It is read only after the upload is validated and is streamed to disk, never buffered.
+     */
+    private InputStream content;
 
     @NotEmpty
     private String authentication;
@@ -0,0 +1,18 @@
+package com.personal.microart.api.operations.search;
+
+import lombok.*;
+
+/**
+ * A version found by the search. The uri is the browse URI of the directory that holds its files.
+ */
+@Getter
+@Setter(AccessLevel.PRIVATE)
+@Builder
+@AllArgsConstructor
+public class SearchHit {
+    private String groupId;
+    private String artifactId;
+    private String version;
+    private String vault;
+    private String uri;
+}
@@ -0,0 +1,19 @@
+package com.personal.microart.api.operations.search;
+
+import com.personal.microart.api.base.ProcessorInput;
+import lombok.*;
+
+@Getter
+@Setter(AccessLevel.PRIVATE)
+@Builder
+@AllArgsConstructor
+public class SearchInput implements ProcessorInput {
+
+    private String groupId;
+
+    private String artifactId;
+
+    private String version;
+
+    private Integer limit;
+}
@@ -0,0 +1,16 @@
+package com.personal.microart.api.operations.search;
+
+
+import com.personal.microart.api.base.Processor;
+
+/**
+ * Searches the versions of all the vaults the current user is allowed to browse by their Maven coordinates. Each of
+ * groupId, artifactId and version is matched as a case-insensitive substring, so a prefix matches as well, and all
+ * the given ones must match. Returns at most {@code limit} versions, sorted by their coordinates. Returns
+ * {@link com.personal.microart.api.errors.ConstraintViolationError ConstraintViolationError} if no coordinate is given
+ * or the limit is invalid and {@link com.personal.microart.api.errors.ServiceUnavailableError ServiceUnavailableError}
+ * if database is not available.
+ */
+public interface SearchOperation extends Processor<SearchResult, SearchInput> {
+
+}
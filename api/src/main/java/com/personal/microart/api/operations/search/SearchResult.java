@@ -0,0 +1,16 @@
+package com.personal.microart.api.operations.search;
+
+import com.personal.microart.api.base.ProcessorResult;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter(AccessLevel.PRIVATE)
+@Builder
+@AllArgsConstructor
+public class SearchResult implements ProcessorResult {
+
+    private List<SearchHit> results;
+
+}
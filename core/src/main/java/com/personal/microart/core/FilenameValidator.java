@@ -0,0 +1,28 @@
+package com.personal.microart.core;
+
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Helper class responsible for checking whether the file a given URI points to may be uploaded. Only timestamped
+ * snapshot artefacts, their javadoc and sources, and maven-metadata.xml files, including their checksums, are
+ * accepted, e.g. /mvn/username/vaultName/com/test/test/0.0.1-SNAPSHOT/test-0.0.1-20240125.124348-1.jar
+ */
+@Component
+public class FilenameValidator {
+    private static final List<Pattern> VALID_FILENAMES = List.of(
+            Pattern.compile("\\d{8}\\.\\d{6}-1\\..*"),
+            Pattern.compile("\\d{8}\\.\\d{6}-1-javadoc\\..*"),
+            Pattern.compile("\\d{8}\\.\\d{6}-1-sources\\..*"),
+            Pattern.compile("maven-metadata\\.xml.*"));
+
+    public Boolean isValid(String uri) {
+        String[] uriElements = uri.split("/");
+        String filename = uriElements[uriElements.length - 1].toLowerCase();
+
+        return VALID_FILENAMES.stream()
+                .anyMatch(regex -> regex.matcher(filename).find());
+    }
+}
@@ -0,0 +1,110 @@
+package com.personal.microart.core.auth;
+
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * A {@link PasswordEncoder} that runs the hashing and verification of its delegate on a dedicated, bounded thread
+ * pool, so a burst of logins or of requests with wrong Basic credentials cannot occupy every request thread. The
+ * calling thread waits for the result. Once all threads are busy and the queue is full, calls fail immediately with a
+ * {@link RejectedExecutionException}, which is answered with 503 and a Retry-After header.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder {
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+    private final LongAdder totalTimeNanos = new LongAdder();
+
+    public BoundedPasswordEncoder(PasswordEncoder delegate, Integer threads, Integer queueSize) {
+        AtomicInteger threadNumber = new AtomicInteger();
+
+        this.delegate = delegate;
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueSize, 1)),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return this.execute(() -> this.delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return this.execute(() -> this.delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return this.delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public PasswordEncoderStatistics getStatistics() {
+        return PasswordEncoderStatistics
+                .builder()
+                .queued((long) this.executor.getQueue().size())
+                .active((long) this.executor.getActiveCount())
+                .completed(this.completed.sum())
+                .rejections(this.rejections.sum())
+                .totalTimeNanos(this.totalTimeNanos.sum())
+                .build();
+    }
+
+    public void shutdown() {
+        this.executor.shutdownNow();
+    }
+
+    private <T> T execute(Supplier<T> task) {
+        Future<T> future;
+
+        try {
+            future = this.executor.submit(() -> {
+                long start = System.nanoTime();
+
+                try {
+                    return task.get();
+                } finally {
+                    this.totalTimeNanos.add(System.nanoTime() - start);
+                    this.completed.increment();
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            this.rejections.increment();
+            throw exception;
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException exception) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException(exception);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+
+            throw new IllegalStateException(exception.getCause());
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.personal.microart.core.auth;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A snapshot of the {@link BoundedPasswordEncoder} counters. The total time only covers the hashing itself, not the
+ * time spent waiting in the queue.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class PasswordEncoderStatistics {
+
+    Long queued;
+
+    Long active;
+
+    Long completed;
+
+    Long rejections;
+
+    Long totalTimeNanos;
+}
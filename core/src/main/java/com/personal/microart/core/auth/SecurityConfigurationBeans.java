@@ -1,18 +1,23 @@
 package com.personal.microart.core.auth;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 @Configuration
 @RequiredArgsConstructor
 public class SecurityConfigurationBeans {
+    @Value("${PASSWORD_HASHING_THREADS}")
+    private Integer PASSWORD_HASHING_THREADS;
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Value("${PASSWORD_HASHING_QUEUE_SIZE}")
+    private Integer PASSWORD_HASHING_QUEUE_SIZE;
+
+    @Bean(destroyMethod = "shutdown")
+    public BoundedPasswordEncoder passwordEncoder() {
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), this.PASSWORD_HASHING_THREADS, this.PASSWORD_HASHING_QUEUE_SIZE);
     }
 
 }
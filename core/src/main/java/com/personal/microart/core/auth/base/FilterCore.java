@@ -1,15 +1,11 @@
 package com.personal.microart.core.auth.base;
 
 import jakarta.servlet.http.HttpServletRequest;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.core.Authentication;
 
-import java.util.List;
-import java.util.Map;
-
 /**
- * FilterCore interface provides methods for checking whether a filter should be applied to a given HTTP request and
- * notifying the SecurityContextHolder of the authentication information.
+ * FilterCore interface provides the authentication information of a given HTTP request to the SecurityContextHolder.
+ * Whether a request must be authenticated is decided by the filters themselves.
  */
 public interface FilterCore {
 
@@ -27,16 +23,4 @@ public interface FilterCore {
      * @return The authentication information.
      */
     Authentication getAuthentication(HttpServletRequest request);
-
-
-    /**
-     * Checks whether the filter should be applied to the provided HTTP request. Provided map specifies the HTTP methods
-     * and their corresponding endpoints.
-     *
-     * @param request The HTTP request to check.
-     * @param protectedEndpoints The map of HTTP methods and their corresponding protected endpoints.
-     * @return True if the endpoint is protected, false otherwise.
-     */
-    Boolean isProtectedEndpoint(HttpServletRequest request, Map<HttpMethod, List<String>> protectedEndpoints);
-
-}
\ No newline at end of file
+}
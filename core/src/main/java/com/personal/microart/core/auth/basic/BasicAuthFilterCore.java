@@ -2,14 +2,13 @@ package com.personal.microart.core.auth.basic;
 
 import com.personal.microart.core.auth.base.BaseFilterCore;
 import com.personal.microart.core.auth.base.BasicAuthenticationToken;
+import com.personal.microart.persistence.cache.UserCache;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.repositories.UserRepository;
 import io.vavr.Tuple;
 import io.vavr.Tuple2;
-import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
-import org.springframework.context.ApplicationContext;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -32,14 +31,10 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class BasicAuthFilterCore extends BaseFilterCore {
     private final ConversionService conversionService;
-    private final ApplicationContext context;
     private final UserRepository userRepository;
+    private final UserCache userCache;
     private final PasswordEncoder passwordEncoder;
-
-    @PostConstruct
-    private void init() {
-        super.setContext(this.context);
-    }
+    private final CredentialCache credentialCache;
 
     /**
      * Checks whether the request has an Authorization header, decodes it and checks whether the user exists,
@@ -47,6 +42,7 @@ public class BasicAuthFilterCore extends BaseFilterCore {
      * {@link BasicAuthenticationToken} with the user's details. If any of the checks fail, the current
      * AuthenticationToken is returned. By default, that is a
      * {@link org.springframework.security.authentication.AnonymousAuthenticationToken AnonymousAuthenticationToken}.
+     * Only called for requests with a Basic Authorization header.
      *
      * @param request The HTTP request from which to retrieve the authentication information.
      * @return {@link BasicAuthenticationToken}
@@ -66,19 +62,33 @@ public class BasicAuthFilterCore extends BaseFilterCore {
 
     private MicroartUser getCurrentUser(HttpServletRequest request) {
         return Optional.ofNullable(request.getHeader(HttpHeaders.AUTHORIZATION))
-                .map(rawHeader -> this.conversionService.convert(rawHeader, BasicAuth.class))
-                .flatMap(auth -> this.userRepository.findByUsername(auth.getUsername()).map(user -> Tuple.of(user, auth))
-                        .flatMap(this::verifyPassword))
+                .flatMap(rawHeader -> {
+                    BasicAuth auth = this.conversionService.convert(rawHeader, BasicAuth.class);
+
+                    return this.userCache.get(auth.getUsername(), this.userRepository::findByUsername)
+                            .map(user -> Tuple.of(user, auth))
+                            .flatMap(userAndAuth -> this.verifyPassword(userAndAuth, this.credentialCache.getKey(rawHeader)));
+                })
                 .orElseGet(MicroartUser::empty);
     }
 
-    private Optional<MicroartUser> verifyPassword(Tuple2<MicroartUser, BasicAuth> userAndAuth) {
-        String userPassword = userAndAuth._1.getPassword();
-        String rawPassword = userAndAuth._2.getPassword();
+    /**
+     * Verifies the password with the password encoder, unless the same credentials were verified recently. Successfully
+     * verified credentials are added to the {@link CredentialCache}.
+     */
+    private Optional<MicroartUser> verifyPassword(Tuple2<MicroartUser, BasicAuth> userAndAuth, String credentialKey) {
+        MicroartUser user = userAndAuth._1;
+
+        if (this.credentialCache.isVerified(credentialKey, user)) {
+            return Optional.of(user);
+        }
+
+        if (!this.passwordEncoder.matches(userAndAuth._2.getPassword(), user.getPassword())) {
+            return Optional.empty();
+        }
 
-        return this.passwordEncoder.matches(rawPassword, userPassword)
-                ? Optional.of(userAndAuth._1)
-                : Optional.empty();
+        this.credentialCache.put(credentialKey, user);
+        return Optional.of(user);
     }
 
     private UserDetails getUserDetails(MicroartUser user) {
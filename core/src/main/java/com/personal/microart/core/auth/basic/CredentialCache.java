@@ -0,0 +1,98 @@
+package com.personal.microart.core.auth.basic;
+
+import com.personal.microart.persistence.entities.MicroartUser;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+
+/**
+ * A bounded cache of Basic Authorization headers whose password was recently verified, so that bcrypt does not run on
+ * every request Maven makes. Entries are keyed by an HMAC of the header with a key generated on startup, so neither the
+ * password nor a plain hash of it is ever kept in memory. An entry only matches as long as the stored password hash of
+ * the user is unchanged and is dropped after BASIC_AUTH_CACHE_TTL_SECONDS. The number of entries is configured with
+ * BASIC_AUTH_CACHE_SIZE.
+ */
+@Component
+public class CredentialCache {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    @Value("${BASIC_AUTH_CACHE_SIZE}")
+    private Integer CACHE_SIZE;
+
+    @Value("${BASIC_AUTH_CACHE_TTL_SECONDS}")
+    private Long TTL_SECONDS;
+
+    private final LinkedHashMap<String, VerifiedCredential> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private SecretKeySpec secretKey;
+
+    @PostConstruct
+    private void init() {
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+
+        this.secretKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+    }
+
+    @SneakyThrows
+    public String getKey(String authorizationHeader) {
+        Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+        mac.init(this.secretKey);
+
+        return HexFormat.of().formatHex(mac.doFinal(authorizationHeader.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Returns true if the credentials with the given key were verified for the user, and the user's password has not
+     * changed since.
+     */
+    public synchronized Boolean isVerified(String key, MicroartUser user) {
+        VerifiedCredential credential = this.entries.get(key);
+
+        if (credential == null) {
+            return false;
+        }
+
+        if (System.nanoTime() - credential.verifiedAt > this.TTL_SECONDS * 1_000_000_000L) {
+            this.entries.remove(key);
+            return false;
+        }
+
+        return credential.username.equals(user.getUsername()) && credential.passwordHash.equals(user.getPassword());
+    }
+
+    public synchronized void put(String key, MicroartUser user) {
+        if (this.CACHE_SIZE <= 0) {
+            return;
+        }
+
+        this.entries.put(key, new VerifiedCredential(user.getUsername(), user.getPassword(), System.nanoTime()));
+
+        while (this.entries.size() > this.CACHE_SIZE) {
+            this.entries.remove(this.entries.keySet().iterator().next());
+        }
+    }
+
+    /**
+     * Removes all verified credentials of the given user, e.g. after the password was changed.
+     */
+    public synchronized void invalidate(String username) {
+        this.entries.values().removeIf(credential -> credential.username.equals(username));
+    }
+
+    @AllArgsConstructor
+    private static class VerifiedCredential {
+        private final String username;
+        private final String passwordHash;
+        private final long verifiedAt;
+    }
+}
@@ -1,12 +1,15 @@
 package com.personal.microart.core.auth.jwt;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import com.personal.microart.persistence.entities.MicroartUser;
 import io.vavr.control.Try;
 import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
 
 import java.time.Duration;
@@ -14,10 +17,16 @@ import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 
 /**
- * JwtProvider is a component responsible for generating and validating JWT tokens.
+ * JwtProvider is a component responsible for generating and validating JWT tokens. The signing algorithm and the
+ * verifier are built once on startup and shared by all requests.
  */
 @Component
 public class JwtProvider {
+    /**
+     * Name of the request attribute holding the {@link Token} decoded from the request's Authorization header.
+     */
+    public static final String TOKEN_ATTRIBUTE = Token.class.getName();
+
     @Value("${JWT_SECRET}")
     private String JWT_SECRET;
 
@@ -26,9 +35,21 @@ public class JwtProvider {
 
     private Duration TOKEN_VALIDITY;
 
+    private Algorithm algorithm;
+
+    private JWTVerifier verifier;
+
     @PostConstruct
     private void init() {
         this.TOKEN_VALIDITY = Duration.of(Long.parseLong(this.TOKEN_VALIDITY_DURATION), ChronoUnit.DAYS);
+        this.algorithm = Algorithm.HMAC256(this.JWT_SECRET);
+        this.verifier = JWT
+                .require(this.algorithm)
+                .withClaimPresence("email")
+                .withClaimPresence("username")
+                .withClaimPresence("iat")
+                .withClaimPresence("exp")
+                .build();
     }
 
     /**
@@ -43,7 +64,7 @@ public class JwtProvider {
                 .username(user.getUsername())
                 .iat(Instant.now())
                 .exp(Instant.now().plus(this.TOKEN_VALIDITY))
-                .signAlgorithm(Algorithm.HMAC256(this.JWT_SECRET))
+                .signAlgorithm(this.algorithm)
                 .build();
     }
 
@@ -55,48 +76,47 @@ public class JwtProvider {
      */
     public Token getJwt(String rawHeader) {
 
-        if (!rawHeader.startsWith("Bearer ")) {
+        if (rawHeader == null || !rawHeader.regionMatches(true, 0, "Bearer ", 0, 7)) {
             return Token.empty();
         }
 
         return Try.of(() -> {
-            DecodedJWT decoded = JWT
-                    .require(Algorithm.HMAC256(this.JWT_SECRET))
-                    .withClaimPresence("email")
-                    .withClaimPresence("username")
-                    .withClaimPresence("iat")
-                    .withClaimPresence("exp")
-                    .build()
-                    .verify(rawHeader.substring(7));
+            DecodedJWT decoded = this.verifier.verify(rawHeader.substring(7));
 
             return Token.builder()
                     .email(decoded.getClaim("email").asString())
                     .username(decoded.getClaim("username").asString())
                     .iat(decoded.getIssuedAt().toInstant())
                     .exp(decoded.getExpiresAt().toInstant())
-                    .signAlgorithm(Algorithm.HMAC256(this.JWT_SECRET))
+                    .signAlgorithm(this.algorithm)
                     .build();
         }).getOrElseGet(ignored -> Token.empty());
     }
 
+    /**
+     * Validates and decodes the JWT token from the Authorization header of a request. The token is decoded only once per
+     * request - the result is stored in the {@link #TOKEN_ATTRIBUTE} request attribute and reused on subsequent calls.
+     *
+     * @param request The request containing the JWT token.
+     * @return The decoded JWT token if valid, otherwise an empty token.
+     */
+    public Token getJwt(HttpServletRequest request) {
+        if (request.getAttribute(TOKEN_ATTRIBUTE) instanceof Token token) {
+            return token;
+        }
+
+        Token token = this.getJwt(request.getHeader(HttpHeaders.AUTHORIZATION));
+        request.setAttribute(TOKEN_ATTRIBUTE, token);
+
+        return token;
+    }
+
     /**
      * Validates a JWT token from a raw header.
      * @param rawHeader The raw header containing the JWT token.
      * @return true if the token is valid, false otherwise.
      */
-
     public Boolean isValidJwt(String rawHeader) {
-        return Try.of(() -> {
-            if (rawHeader == null || !rawHeader.startsWith("Bearer ")) {
-                return false;
-            }
-
-            JWT.require(Algorithm.HMAC256(this.JWT_SECRET))
-                    .build()
-                    .verify(rawHeader.substring(7));
-
-            return true;
-        }).getOrElseGet(ignored -> false);
-
+        return !this.getJwt(rawHeader).isEmpty();
     }
-}
\ No newline at end of file
+}
@@ -37,4 +37,8 @@ public class Token {
                 .signAlgorithm(Algorithm.none())
                 .build();
     }
+
+    public Boolean isEmpty() {
+        return this.username.isEmpty() && this.email.isEmpty();
+    }
 }
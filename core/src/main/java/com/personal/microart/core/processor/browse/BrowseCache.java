@@ -0,0 +1,172 @@
+package com.personal.microart.core.processor.browse;
+
+import com.personal.microart.api.operations.browse.BrowseResult;
+import com.personal.microart.persistence.entities.Vault;
+import com.personal.microart.persistence.index.BrowseIndex;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded LRU cache of browse results. Users that see the same vaults get the same results, so entries are keyed by
+ * the browsed URI, the page and a SHA-256 hash of the sorted vaults the user can see. Vaults are identified as
+ * username/vaultName, since vault names are only unique per owner. A change of a
+ * user's visibility, e.g. being added to a vault, therefore leads to a different key. The number of entries is
+ * configured with BROWSE_CACHE_SIZE.
+ * <p>
+ * Every entry is registered under the vaults its result was read from: a single vault below the vault level, all
+ * visible vaults above it. Entries are invalidated when the {@link BrowseIndex} reports a change of the content of one
+ * of these vaults, or when the vault itself changes.
+ */
+@Component
+@RequiredArgsConstructor
+public class BrowseCache {
+    private final BrowseIndex browseIndex;
+
+    @Value("${BROWSE_CACHE_SIZE}")
+    private Integer CACHE_SIZE;
+
+    private final LinkedHashMap<String, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, Set<String>> keysByVault = new HashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    /**
+     * Incremented on every invalidation. Results are only cached if no invalidation happened since they were read, so
+     * a change that overlaps with a browse request cannot leave a stale result in the cache.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    @PostConstruct
+    private void init() {
+        this.browseIndex.addChangeListener(this::invalidate);
+    }
+
+    @SneakyThrows
+    public String getKey(String uri, Integer limit, String cursor, Collection<String> visibleVaults) {
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        visibleVaults.stream()
+                .sorted()
+                .forEach(vaultPath -> digest.update((vaultPath + "\n").getBytes(StandardCharsets.UTF_8)));
+
+        return String.join("\n", uri, limit.toString(), cursor == null ? "" : cursor, HexFormat.of().formatHex(digest.digest()));
+    }
+
+    public long getGeneration() {
+        return this.generation.get();
+    }
+
+    public synchronized Optional<BrowseResult> get(String key) {
+        CachedResult cachedResult = this.entries.get(key);
+
+        if (cachedResult == null) {
+            this.misses.increment();
+            return Optional.empty();
+        }
+
+        this.hits.increment();
+        return Optional.of(cachedResult.result);
+    }
+
+    /**
+     * Adds a result that was read while the cache was at the given generation from the content of the given vaults,
+     * identified as username/vaultName. The result is ignored if any entry was invalidated in the meantime.
+     */
+    public synchronized void put(String key, BrowseResult result, Set<String> vaults, long readGeneration) {
+        if (this.CACHE_SIZE <= 0 || readGeneration != this.generation.get()) {
+            return;
+        }
+
+        this.remove(key);
+        this.entries.put(key, new CachedResult(result, vaults));
+        vaults.forEach(vaultPath -> this.keysByVault.computeIfAbsent(vaultPath, ignored -> new HashSet<>()).add(key));
+
+        while (this.entries.size() > this.CACHE_SIZE) {
+            this.remove(this.entries.keySet().iterator().next());
+            this.evictions.increment();
+        }
+    }
+
+    /**
+     * Removes all results that were read from the given vault.
+     */
+    public void invalidate(Vault vault) {
+        this.invalidate(BrowseIndex.getVaultPath(vault.getOwner().getUsername(), vault.getName()));
+    }
+
+    /**
+     * Removes all results that were read from the vault with the given username/vaultName.
+     */
+    public synchronized void invalidate(String vaultPath) {
+        this.generation.incrementAndGet();
+
+        Set<String> keys = this.keysByVault.remove(vaultPath);
+
+        if (keys == null) {
+            return;
+        }
+
+        keys.forEach(key -> {
+            if (this.remove(key)) {
+                this.invalidations.increment();
+            }
+        });
+    }
+
+    public synchronized BrowseCacheStatistics getStatistics() {
+        return BrowseCacheStatistics.builder()
+                .hits(this.hits.sum())
+                .misses(this.misses.sum())
+                .evictions(this.evictions.sum())
+                .invalidations(this.invalidations.sum())
+                .entries((long) this.entries.size())
+                .build();
+    }
+
+    private boolean remove(String key) {
+        CachedResult removed = this.entries.remove(key);
+
+        if (removed == null) {
+            return false;
+        }
+
+        removed.vaults.forEach(vaultPath -> {
+            Set<String> keys = this.keysByVault.get(vaultPath);
+
+            if (keys != null) {
+                keys.remove(key);
+
+                if (keys.isEmpty()) {
+                    this.keysByVault.remove(vaultPath);
+                }
+            }
+        });
+
+        return true;
+    }
+
+    @AllArgsConstructor
+    private static class CachedResult {
+        private final BrowseResult result;
+        private final Set<String> vaults;
+    }
+}
@@ -0,0 +1,25 @@
+package com.personal.microart.core.processor.browse;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A snapshot of the {@link BrowseCache} counters. Invalidations count the entries removed because the content of one
+ * of their vaults, or the vault itself, changed.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class BrowseCacheStatistics {
+
+    Long hits;
+
+    Long misses;
+
+    Long evictions;
+
+    Long invalidations;
+
+    Long entries;
+}
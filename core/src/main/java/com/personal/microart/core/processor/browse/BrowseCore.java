@@ -1,79 +1,162 @@
 package com.personal.microart.core.processor.browse;
 
 import com.personal.microart.api.errors.ApiError;
+import com.personal.microart.api.errors.ConstraintViolationError;
 import com.personal.microart.api.errors.ServiceUnavailableError;
 import com.personal.microart.api.operations.browse.BrowseInput;
 import com.personal.microart.api.operations.browse.BrowseOperation;
 import com.personal.microart.api.operations.browse.BrowseResult;
 import com.personal.microart.api.operations.browse.Content;
-import com.personal.microart.persistence.entities.Artefact;
 import com.personal.microart.persistence.entities.MicroartUser;
-import com.personal.microart.persistence.entities.Vault;
+import com.personal.microart.persistence.index.BrowseIndex;
 import com.personal.microart.persistence.repositories.VaultRepository;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.LinkedHashSet;
+import java.util.Base64;
 import java.util.List;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import static io.vavr.API.*;
+import static io.vavr.Predicates.instanceOf;
+
 /**
  * {@link BrowseOperation} implementation. Response is based on the current user's authorization. Users can
  * see all public vaults and their artefacts, artefacts from authorized vaults, and their own artefacts and vaults.
+ * The content is looked up in the {@link BrowseIndex}, so only the owners and names of the findable vaults are read
+ * from the database. Pages hold at most BROWSE_PAGE_SIZE entries, which is also the default limit, and only the entries of the
+ * requested page are ever read from the index. Results are shared between users that see the same vaults through the
+ * {@link BrowseCache}.
  */
 @Component
 @RequiredArgsConstructor
 public class BrowseCore implements BrowseOperation {
     private final VaultRepository vaultRepository;
+    private final BrowseIndex browseIndex;
+    private final BrowseCache browseCache;
+
+    @Value("${BROWSE_PAGE_SIZE}")
+    private Integer PAGE_SIZE;
 
     @Override
     public Either<ApiError, BrowseResult> process(BrowseInput input) {
-        return Try.of(() -> BrowseResult
-                        .builder()
-                        .content(this.getFindableArtefacts()
-                                .stream()
-                                .filter(artefact -> artefact.getUri().startsWith(this.transformBrowseToMvn(input.getUri())))
-                                .map(artefact -> this.getContent(artefact, input.getUri()))
-                                .sorted()
-                                .collect(Collectors.toCollection(LinkedHashSet::new)))
-                        .build())
+        return Try.of(() -> {
+                    String browseUri = this.normalize(input.getUri());
+                    String mvnUri = this.transformBrowseToMvn(browseUri);
+                    Integer limit = this.getLimit(input.getLimit());
+                    String after = this.decodeCursor(input.getCursor());
+                    Set<String> findableVaults = this.getFindableVaults();
+
+                    String key = this.browseCache.getKey(mvnUri, limit, after, findableVaults);
+
+                    return this.browseCache
+                            .get(key)
+                            .orElseGet(() -> {
+                                long generation = this.browseCache.getGeneration();
+                                BrowseResult result = this.browse(browseUri, mvnUri, limit, after, findableVaults);
+
+                                this.browseCache.put(key, result, this.getSourceVaults(mvnUri, findableVaults), generation);
+                                return result;
+                            });
+                })
                 .toEither()
-                .mapLeft(throwable -> ServiceUnavailableError.builder().build());
+                .mapLeft(throwable -> Match(throwable).of(
+                        Case($(instanceOf(IllegalArgumentException.class)), error -> ConstraintViolationError.builder().statusMessage(error.getMessage()).build()),
+                        Case($(), error -> ServiceUnavailableError.builder().build())));
     }
 
-    private Content getContent(Artefact artefact, String uri) {
-        String remainingUri = artefact
-                .getUri()
-                .substring(this.transformBrowseToMvn(uri).length());
+    private BrowseResult browse(String browseUri, String mvnUri, Integer limit, String after, Set<String> findableVaults) {
+        List<BrowseIndex.Entry> page = this.browseIndex
+                .getChildren(mvnUri, findableVaults, after)
+                .limit(limit + 1L)
+                .toList();
+
+        String nextCursor = page.size() > limit
+                ? this.encodeCursor(page.get(limit - 1).getName())
+                : null;
+
+        return BrowseResult
+                .builder()
+                .content(page
+                        .stream()
+                        .limit(limit)
+                        .map(entry -> this.getContent(entry, entry.getIsDirectory() ? browseUri : mvnUri))
+                        .toList())
+                .nextCursor(nextCursor)
+                .build();
+    }
 
-        String[] remainingUriElements = Arrays
-                .stream(remainingUri.split("/"))
+    /**
+     * Returns the vaults whose content the result of the given URI is read from. Below the vault level, it is the
+     * browsed vault only, e.g. username/vaultName for /mvn/username/vaultName/com/test. Above it, any of the findable
+     * vaults.
+     */
+    private Set<String> getSourceVaults(String mvnUri, Set<String> findableVaults) {
+        String[] uriElements = Arrays.stream(mvnUri.split("/"))
                 .filter(element -> !element.isBlank())
                 .toArray(String[]::new);
 
-        if (remainingUriElements.length > 1) {
-            String nextElement = remainingUriElements[0];
-            String finalUri = uri + "/" + nextElement;
+        if (uriElements.length < 3) {
+            return findableVaults;
+        }
+
+        String vaultPath = BrowseIndex.getVaultPath(uriElements[1], uriElements[2]);
+
+        return findableVaults.contains(vaultPath) ? Set.of(vaultPath) : Set.of();
+    }
+
+    private Integer getLimit(Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return this.PAGE_SIZE;
+        }
 
-            return Content
-                    .builder()
-                    .name(remainingUriElements[0])
-                    .uri(finalUri)
-                    .build();
+        if (requestedLimit < 1) {
+            throw new IllegalArgumentException("limit must be greater than 0");
         }
 
+        return Math.min(requestedLimit, this.PAGE_SIZE);
+    }
+
+    /**
+     * The cursor is the name of the last entry of the previous page, encoded so that clients treat it as opaque.
+     */
+    private String encodeCursor(String name) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(name.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        return Try.of(() -> new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8))
+                .getOrElseThrow(() -> new IllegalArgumentException("cursor is invalid"));
+    }
+
+    private Content getContent(BrowseIndex.Entry entry, String parentUri) {
         return Content
                 .builder()
-                .name(remainingUriElements[0])
-                .uri(this.transformBrowseToMvn(uri + "/" + remainingUriElements[0]))
+                .name(entry.getName())
+                .uri(parentUri + "/" + entry.getName())
                 .build();
     }
 
+    /**
+     * Removes empty elements from the uri, e.g. /browse//com/personal/ becomes /browse/com/personal
+     */
+    private String normalize(String uri) {
+        return "/" + Arrays.stream(uri.split("/"))
+                .filter(element -> !element.isBlank())
+                .collect(Collectors.joining("/"));
+    }
+
     /**
      * Transforms an uri that begins with /browse to one that begins with /mvn. Required since all downloads
      * start with /mvn
@@ -92,22 +175,16 @@ public class BrowseCore implements BrowseOperation {
     }
 
     /**
-     * Depending on the user's authorization, returns a set of findable artefacts. Public artefacts are always findable.
-     * Authenticated users see public and their own artefacts. If user is authorized to a vault(s), they see its/their
-     * artefacts as well.
+     * Depending on the user's authorization, returns the findable vaults as username/vaultName, since vaults of
+     * different owners may share a name. Public vaults are always findable. Authenticated users see public and their
+     * own vaults. If user is authorized to a vault(s), they see its/their artefacts as well.
      */
-    private Set<Artefact> getFindableArtefacts() {
+    private Set<String> getFindableVaults() {
 
         Object authDetails = SecurityContextHolder.getContext().getAuthentication().getDetails();
 
-        Set<Vault> vaults = authDetails instanceof MicroartUser
-                ? this.vaultRepository.findAllByAuthorizedUsersContainingOrIsPublicTrue((MicroartUser) authDetails)
-                : this.vaultRepository.findAllByIsPublicTrue();
-
-        return vaults
-                .stream()
-                .map(Vault::getArtefacts)
-                .flatMap(List::stream)
-                .collect(Collectors.toSet());
+        return authDetails instanceof MicroartUser
+                ? this.vaultRepository.findAllVisibleVaultPaths(((MicroartUser) authDetails).getUsername())
+                : this.vaultRepository.findAllPublicVaultPaths();
     }
-}
\ No newline at end of file
+}
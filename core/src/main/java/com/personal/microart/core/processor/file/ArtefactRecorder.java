@@ -0,0 +1,82 @@
+package com.personal.microart.core.processor.file;
+
+import com.personal.microart.persistence.cache.ArtefactCache;
+import com.personal.microart.persistence.directorymanager.FileDeleter;
+import com.personal.microart.persistence.directorymanager.UploadJournal;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.entities.Vault;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.VaultRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Records uploaded files as artefacts. Each artefact is created, or the existing artefact is pointed at the new file,
+ * in a single write. Must be called within a transaction: the file the artefact pointed to before is released in it,
+ * and once it is over the upload journal entry of the file is closed. If the transaction did not commit, the new file
+ * is deleted unless something else references it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArtefactRecorder {
+    private final ArtefactRepository artefactRepository;
+    private final VaultRepository vaultRepository;
+    private final ArtefactCache artefactCache;
+    private final FileDeleter fileDeleter;
+    private final UploadJournal uploadJournal;
+
+    /**
+     * Returns the id of the vault with the given name, without loading the vault and its artefacts. The vault is
+     * created on the first upload to it.
+     */
+    public UUID getVaultId(String vaultName, MicroartUser owner) {
+        return this.vaultRepository
+                .findIdByName(vaultName)
+                .orElseGet(() -> this.vaultRepository.save(Vault.builder().name(vaultName).owner(owner).build()).getId());
+    }
+
+    /**
+     * Records the file as the artefact with the given URI. New artefacts are linked to the vault with a single insert
+     * into the join table.
+     */
+    public void record(UUID vaultId, String uri, WrittenFile writtenFile) {
+        Optional<Artefact> existingArtefact = this.artefactRepository.findArtefactByUri(uri);
+        existingArtefact.map(Artefact::getFilename).ifPresent(this.fileDeleter::release);
+        this.completeAfterTransaction(writtenFile);
+
+        Artefact artefact = existingArtefact
+                .orElseGet(() -> Artefact.builder().uri(uri).build())
+                .setFilename(writtenFile.getFilename())
+                .setSize(writtenFile.getSize())
+                .setChecksums(writtenFile.getChecksums())
+                .setTimestamp(LocalDateTime.now());
+
+        Artefact persistedArtefact = this.artefactRepository.save(artefact);
+        this.artefactCache.invalidate(uri);
+
+        if (existingArtefact.isEmpty()) {
+            this.vaultRepository.addArtefact(vaultId, persistedArtefact.getId());
+        }
+    }
+
+    private void completeAfterTransaction(WrittenFile writtenFile) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    fileDeleter.deleteIfUnreferenced(writtenFile.getFilename());
+                }
+
+                uploadJournal.close(writtenFile.getJournalEntry());
+            }
+        });
+    }
+}
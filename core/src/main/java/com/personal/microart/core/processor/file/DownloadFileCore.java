@@ -9,9 +9,11 @@ import com.personal.microart.api.operations.file.download.DownloadFileOperation;
 import com.personal.microart.api.operations.file.download.DownloadFileResult;
 import com.personal.microart.core.Extractor;
 import com.personal.microart.persistence.entities.MicroartUser;
-import com.personal.microart.persistence.entities.Vault;
 import com.personal.microart.persistence.errors.Error;
+import com.personal.microart.persistence.directorymanager.ChecksumAlgorithm;
 import com.personal.microart.persistence.directorymanager.FileReader;
+import com.personal.microart.persistence.directorymanager.StoredFile;
+import com.personal.microart.persistence.errors.PersistenceError;
 import com.personal.microart.persistence.repositories.VaultRepository;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
@@ -19,6 +21,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
 
 import static io.vavr.API.*;
@@ -48,14 +53,14 @@ public class DownloadFileCore implements DownloadFileOperation {
     private Either<ApiError, DownloadFileInput> verifyPermissions(DownloadFileInput input) {
         String vaultName = this.extractor.getVaultName(input.getUri());
 
-        return this.vaultRepository.findVaultByName(vaultName)
-                .map(vault -> verifyVaultPermissions(vault, input))
+        return this.vaultRepository.findIsPublicByName(vaultName)
+                .map(isPublic -> verifyVaultPermissions(vaultName, isPublic, input))
                 .orElse(Either.left(InvalidCredentialsError.builder().build()));
     }
 
-    private Either<ApiError, DownloadFileInput> verifyVaultPermissions(Vault vault, DownloadFileInput input) {
+    private Either<ApiError, DownloadFileInput> verifyVaultPermissions(String vaultName, Boolean isPublic, DownloadFileInput input) {
         return Try.of(() -> {
-                    if (vault.isPublic()) {
+                    if (Boolean.TRUE.equals(isPublic)) {
                         return input;
                     }
 
@@ -64,7 +69,7 @@ public class DownloadFileCore implements DownloadFileOperation {
                             .getAuthentication()
                             .getDetails();
 
-                    return Optional.of(vault.getAuthorizedUsers().contains(currentUser))
+                    return Optional.of(this.vaultRepository.existsByNameAndAuthorizedUsersId(vaultName, currentUser.getId()))
                             .filter(contains -> contains)
                             .map(ignored -> input)
                             .orElseThrow(IllegalArgumentException::new);
@@ -74,15 +79,37 @@ public class DownloadFileCore implements DownloadFileOperation {
     }
 
     private Either<ApiError, DownloadFileResult> downloadFile(DownloadFileInput input) {
-        return this.fileReader.readFile(input.getUri())
-                .map(content -> {
+        Either<PersistenceError, StoredFile> file = Boolean.TRUE.equals(input.getMetadataOnly())
+                ? this.fileReader.getFile(input.getUri())
+                : this.fileReader.readFile(input.getUri());
+
+        return file
+                .map(storedFile -> {
                     String[] uriElements = input.getUri().split("/");
                     String filename = uriElements[uriElements.length - 1];
 
-                    return DownloadFileResult.builder().content(content).filename(filename).build();
+                    return DownloadFileResult.builder()
+                            .file(storedFile.getPath())
+                            .size(storedFile.getSize())
+                            .lastModified(storedFile.getLastModified())
+                            .etag(storedFile.getVersion())
+                            .content(storedFile.getContent())
+                            .filename(filename)
+                            .checksums(this.getChecksums(storedFile))
+                            .build();
                 })
                 .mapLeft(error -> Match(error.getError()).of(
                         Case($(Error.READ_ERROR), readError -> ServiceUnavailableError.builder().build()),
                         Case($(Error.FILE_NOT_FOUND_ERROR), readError -> FileNotFoundError.builder().build())));
     }
+
+    private Map<String, String> getChecksums(StoredFile storedFile) {
+        Map<String, String> checksums = new LinkedHashMap<>();
+
+        Arrays.stream(ChecksumAlgorithm.values())
+                .forEach(algorithm -> algorithm.getValue(storedFile.getChecksums())
+                        .ifPresent(checksum -> checksums.put(algorithm.getExtension(), checksum)));
+
+        return checksums;
+    }
 }
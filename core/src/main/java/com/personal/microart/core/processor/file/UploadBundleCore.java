@@ -0,0 +1,184 @@
+package com.personal.microart.core.processor.file;
+
+import com.personal.microart.api.errors.*;
+import com.personal.microart.api.operations.file.bundle.UploadBundleInput;
+import com.personal.microart.api.operations.file.bundle.UploadBundleOperation;
+import com.personal.microart.api.operations.file.bundle.UploadBundleResult;
+import com.personal.microart.core.Extractor;
+import com.personal.microart.core.FilenameValidator;
+import com.personal.microart.core.processor.file.bundle.BundleEntry;
+import com.personal.microart.core.processor.file.bundle.BundleReader;
+import com.personal.microart.persistence.directorymanager.ChecksumAlgorithm;
+import com.personal.microart.persistence.directorymanager.FileWriter;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.VaultRepository;
+import io.vavr.control.Either;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+import static io.vavr.API.*;
+import static io.vavr.Predicates.instanceOf;
+
+/**
+ * An {@link UploadBundleOperation} implementation. Unpacks the bundle as it is streamed and writes every file with the
+ * file writer component, the same way {@link UploadFileCore} does for single files. The user is authenticated and the
+ * vault ownership is validated once for the whole bundle, before any of the content is read. Every filename is
+ * validated before its content is written. Checksum files are verified against the files of the bundle, or the stored
+ * artefacts, and are not written. All artefacts are committed in a single transaction, which is rolled back if any of
+ * the files is rejected. Returns the following errors:
+ * <ul>
+ *     <li>{@link ConstraintViolationError} if the bundle is not a zip or tar archive, a filename is invalid or a
+ *     checksum does not match</li>
+ *     <li>{@link InvalidCredentialsError} if the user is not authorized to upload to the vault</li>
+ *     <li>{@link FileUploadError} if the bundle could not be read or a file could not be written to disk</li>
+ *     <li>{@link ServiceUnavailableError} if the database is not available</li>
+ * </ul>
+ */
+@RequiredArgsConstructor
+@Component
+@Transactional
+public class UploadBundleCore implements UploadBundleOperation {
+    private final FileWriter fileWriter;
+    private final ArtefactRepository artefactRepository;
+    private final VaultRepository vaultRepository;
+    private final Extractor extractor;
+    private final FilenameValidator filenameValidator;
+    private final ArtefactRecorder artefactRecorder;
+
+    @Override
+    public Either<ApiError, UploadBundleResult> process(UploadBundleInput input) {
+        return this.validateVaultOwnership(input)
+                .flatMap(this::uploadBundle)
+                .peekLeft(error -> TransactionAspectSupport.currentTransactionStatus().setRollbackOnly());
+    }
+
+    private Either<ApiError, UploadBundleInput> validateVaultOwnership(UploadBundleInput input) {
+        return Try.of(() -> {
+                    MicroartUser user = (MicroartUser) SecurityContextHolder
+                            .getContext()
+                            .getAuthentication()
+                            .getDetails();
+
+                    String vaultName = this.extractor.getVaultName(input.getUri());
+                    Boolean isOwnVault = this.extractor.getUsername(input.getUri()).equalsIgnoreCase(user.getUsername());
+
+                    if (!vaultName.isEmpty() && (isOwnVault || this.vaultRepository.existsByNameAndAuthorizedUsersId(vaultName, user.getId()))) {
+                        return input;
+                    }
+
+                    throw new IllegalArgumentException();
+                })
+                .toEither()
+                .mapLeft(InvalidCredentialsError::fromThrowable);
+    }
+
+    private Either<ApiError, UploadBundleResult> uploadBundle(UploadBundleInput input) {
+        String username = this.extractor.getUsername(input.getUri());
+        String vaultName = this.extractor.getVaultName(input.getUri());
+        String vaultUri = String.format("/mvn/%s/%s/", username, vaultName);
+
+        return Try.of(() -> {
+                    MicroartUser user = (MicroartUser) SecurityContextHolder
+                            .getContext()
+                            .getAuthentication()
+                            .getDetails();
+
+                    UUID vaultId = this.artefactRecorder.getVaultId(vaultName, user);
+                    BundleReader bundle = BundleReader.of(input.getContent());
+
+                    List<String> uris = new ArrayList<>();
+                    Map<String, WrittenFile> writtenFiles = new HashMap<>();
+                    Map<String, byte[]> checksumFiles = new LinkedHashMap<>();
+
+                    for (Optional<BundleEntry> entry = bundle.nextEntry(); entry.isPresent(); entry = bundle.nextEntry()) {
+                        String uri = this.getUri(vaultUri, entry.get().getName());
+
+                        if (ChecksumAlgorithm.fromUri(uri).isPresent()) {
+                            checksumFiles.put(uri, entry.get().getContent().readNBytes(UploadFileCore.MAXIMUM_CHECKSUM_FILE_SIZE));
+                            continue;
+                        }
+
+                        WrittenFile writtenFile = this.writeFile(uri, entry.get().getContent());
+                        this.artefactRecorder.record(vaultId, uri, writtenFile);
+                        writtenFiles.put(uri, writtenFile);
+                        uris.add(uri);
+                    }
+
+                    for (Map.Entry<String, byte[]> checksumFile : checksumFiles.entrySet()) {
+                        String uri = checksumFile.getKey();
+                        Optional<String> expectedChecksum = this.getExpectedChecksum(uri, writtenFiles);
+
+                        if (expectedChecksum.isEmpty()) {
+                            WrittenFile writtenFile = this.writeFile(uri, new ByteArrayInputStream(checksumFile.getValue()));
+                            this.artefactRecorder.record(vaultId, uri, writtenFile);
+                        } else if (!ChecksumAlgorithm.parseChecksumFile(checksumFile.getValue()).equals(expectedChecksum.get())) {
+                            throw new IllegalArgumentException("Checksum does not match the uploaded artefact: " + uri);
+                        }
+
+                        uris.add(uri);
+                    }
+
+                    if (uris.isEmpty()) {
+                        throw new IllegalArgumentException("Bundle is empty.");
+                    }
+
+                    return UploadBundleResult.builder().uris(uris).build();
+                })
+                .toEither()
+                .mapLeft(throwable -> Match(throwable).of(
+                        Case($(instanceOf(IllegalArgumentException.class)), error -> ConstraintViolationError.builder().statusMessage(error.getMessage()).build()),
+                        Case($(instanceOf(IOException.class)), error -> FileUploadError.builder().message(error.getMessage()).build()),
+                        Case($(), ServiceUnavailableError::fromThrowable)));
+    }
+
+    /**
+     * Resolves the path of a bundle entry against the vault and validates the filename, e.g.
+     * com/test/test/0.0.1-SNAPSHOT/test-0.0.1-20240125.124348-1.jar becomes
+     * /mvn/username/vaultName/com/test/test/0.0.1-SNAPSHOT/test-0.0.1-20240125.124348-1.jar
+     */
+    private String getUri(String vaultUri, String entryName) {
+        List<String> pathElements = Arrays.stream(entryName.split("/"))
+                .filter(element -> !element.isEmpty() && !element.equals("."))
+                .toList();
+
+        if (pathElements.isEmpty() || pathElements.contains("..")) {
+            throw new IllegalArgumentException("Invalid path in bundle: " + entryName);
+        }
+
+        String uri = vaultUri + String.join("/", pathElements);
+
+        if (!this.filenameValidator.isValid(uri)) {
+            throw new IllegalArgumentException("Version already deployed or filename is invalid: " + entryName);
+        }
+
+        return uri;
+    }
+
+    private WrittenFile writeFile(String uri, InputStream content) throws IOException {
+        return this.fileWriter
+                .saveFileToDisk(uri, content)
+                .getOrElseThrow(persistenceError -> new IOException(persistenceError.getMessage()));
+    }
+
+    private Optional<String> getExpectedChecksum(String checksumUri, Map<String, WrittenFile> writtenFiles) {
+        ChecksumAlgorithm algorithm = ChecksumAlgorithm.fromUri(checksumUri).orElseThrow();
+        String artefactUri = algorithm.getArtefactUri(checksumUri);
+
+        return Optional.ofNullable(writtenFiles.get(artefactUri))
+                .map(WrittenFile::getChecksums)
+                .or(() -> this.artefactRepository.findArtefactByUri(artefactUri).map(Artefact::getChecksums))
+                .flatMap(algorithm::getValue);
+    }
+}
@@ -5,14 +5,13 @@ import com.personal.microart.api.operations.file.upload.UploadFileInput;
 import com.personal.microart.api.operations.file.upload.UploadFileOperation;
 import com.personal.microart.api.operations.file.upload.UploadFileResult;
 import com.personal.microart.core.Extractor;
-import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.core.FilenameValidator;
 import com.personal.microart.persistence.entities.MicroartUser;
-import com.personal.microart.persistence.entities.Vault;
+import com.personal.microart.persistence.directorymanager.ChecksumAlgorithm;
 import com.personal.microart.persistence.directorymanager.FileWriter;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
 import com.personal.microart.persistence.repositories.ArtefactRepository;
 import com.personal.microart.persistence.repositories.VaultRepository;
-import io.vavr.Tuple;
-import io.vavr.Tuple2;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
 import lombok.RequiredArgsConstructor;
@@ -20,14 +19,18 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.regex.Pattern;
-import java.util.stream.Stream;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * An {@link UploadFileOperation} implementation. Gets the requested file URI and contents and delegates
- * to the file writer component to do the actual writing to the file system. Returns the following errors:
+ * to the file writer component to do the actual writing to the file system. The vault ownership and the filename are
+ * validated before any of the content is read, so rejected uploads are never streamed to disk. The checksums calculated while writing
+ * are stored on the artefact, so checksum files uploaded afterwards are only verified against them and not written.
+ * Returns the following errors:
  * <ul>
- *     <li>{@link ConstraintViolationError} if the filename is invalid or the file could not be written to disk</li>
+ *     <li>{@link ConstraintViolationError} if the filename is invalid, the checksum does not match the artefact
+ *     or the file could not be written to disk</li>
  *     <li>{@link InvalidCredentialsError} if the user is not authorized to upload to the vault</li>
  *     <li>{@link FileUploadError} if the file could not be written to disk</li>
  *     <li>{@link ServiceUnavailableError} if the database is not available</li>
@@ -37,19 +40,52 @@ import java.util.stream.Stream;
 @Component
 @Transactional
 public class UploadFileCore implements UploadFileOperation {
+    static final int MAXIMUM_CHECKSUM_FILE_SIZE = 1024;
+
     private final FileWriter fileWriter;
     private final ArtefactRepository artefactRepository;
     private final VaultRepository vaultRepository;
     private final Extractor extractor;
+    private final FilenameValidator filenameValidator;
+    private final ArtefactRecorder artefactRecorder;
 
     @Override
     public Either<ApiError, UploadFileResult> process(UploadFileInput input) {
 
         return this.validateVaultOwnership(input)
                 .flatMap(this::validateFilename)
-                .flatMap(this::createFileRecord)
-                .flatMap(this::writeFile)
-                .flatMap(this::updateFilename);
+                .flatMap(validInput -> this.getChecksumOfStoredArtefact(validInput.getUri())
+                        .map(expectedChecksum -> this.verifyChecksum(validInput, expectedChecksum))
+                        .orElseGet(() -> this.storeFile(validInput)));
+    }
+
+    private Either<ApiError, UploadFileResult> storeFile(UploadFileInput input) {
+        return this.writeFile(input)
+                .flatMap(writtenFile -> this.saveArtefact(input, writtenFile));
+    }
+
+    /**
+     * Returns the checksum of the artefact the uploaded checksum file belongs to. Empty if the upload is not a
+     * checksum file or the artefact has no such checksum stored, in which case the file is stored as any other.
+     */
+    private Optional<String> getChecksumOfStoredArtefact(String uri) {
+        return ChecksumAlgorithm.fromUri(uri)
+                .flatMap(algorithm -> this.artefactRepository
+                        .findArtefactByUri(algorithm.getArtefactUri(uri))
+                        .flatMap(artefact -> algorithm.getValue(artefact.getChecksums())));
+    }
+
+    private Either<ApiError, UploadFileResult> verifyChecksum(UploadFileInput input, String expectedChecksum) {
+        return Try.of(() -> input.getContent().readNBytes(MAXIMUM_CHECKSUM_FILE_SIZE))
+                .toEither()
+                .<ApiError>mapLeft(throwable -> FileUploadError.builder().message(throwable.getMessage()).build())
+                .<UploadFileResult>flatMap(content -> {
+                    if (!ChecksumAlgorithm.parseChecksumFile(content).equals(expectedChecksum)) {
+                        return Either.left(ConstraintViolationError.builder().statusMessage("Checksum does not match the uploaded artefact.").build());
+                    }
+
+                    return Either.right(UploadFileResult.builder().build());
+                });
     }
 
     private Either<ApiError, UploadFileInput> validateVaultOwnership(UploadFileInput input) {
@@ -74,89 +110,36 @@ public class UploadFileCore implements UploadFileOperation {
 
 
     private Boolean isAuthorized(MicroartUser user, String uri) {
-        return this.vaultRepository
-                .findVaultByName(this.extractor.getVaultName(uri))
-                .map(vault -> vault.getAuthorizedUsers().contains(user))
-                .orElse(false);
+        return this.vaultRepository.existsByNameAndAuthorizedUsersId(this.extractor.getVaultName(uri), user.getId());
     }
 
     private Either<ApiError, UploadFileInput> validateFilename(UploadFileInput input) {
-        return Try.of(() -> {
-                    String[] uriElements = input.getUri().split("/");
-                    String filename = uriElements[uriElements.length - 1].toLowerCase();
-
-                    Pattern typical = Pattern.compile("\\d{8}\\.\\d{6}-1\\..*");
-                    Pattern javadoc = Pattern.compile("\\d{8}\\.\\d{6}-1-javadoc\\..*");
-                    Pattern sources = Pattern.compile("\\d{8}\\.\\d{6}-1-sources\\..*");
-                    Pattern metadata = Pattern.compile("maven-metadata\\.xml.*");
-
-                    return Stream.of(typical, javadoc, sources, metadata)
-                            .map(regex -> regex.matcher(filename.toLowerCase()))
-                            .map(matcher -> matcher.find() ? matcher.group() : "")
-                            .filter(result -> !result.isEmpty())
-                            .findFirst()
-                            .map(ignored -> input)
-                            .orElseThrow(() -> new IllegalArgumentException("Version already deployed or filename is invalid."));
-
-                })
-                .toEither()
-                .mapLeft(throwable -> ConstraintViolationError.builder().statusMessage(throwable.getMessage()).build());
+        return this.filenameValidator.isValid(input.getUri())
+                ? Either.right(input)
+                : Either.left(ConstraintViolationError.builder().statusMessage("Version already deployed or filename is invalid.").build());
     }
 
-    private Either<ApiError, UploadFileInput> createFileRecord(UploadFileInput input) {
-        String vaultName = this.extractor.getVaultName(input.getUri());
-        MicroartUser user = (MicroartUser) SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getDetails();
-
-        Artefact artefact = Artefact.builder()
-                .uri(input.getUri())
-                .build();
-
-        return Try.of(() -> {
-                    Vault vault = this.vaultRepository
-                            .findVaultByName(vaultName)
-                            .orElseGet(() -> this.vaultRepository.save(Vault.builder().name(vaultName).owner(user).build()));
-
-                    this.artefactRepository
-                            .findArtefactByUri(input.getUri())
-                            .map(vault::removeArtefact);
-                    this.artefactRepository.deleteArtefactByUri(input.getUri());
-
-                    Artefact persistedArtefact = this.artefactRepository.save(artefact);
-
-                    vault.addArtefact(persistedArtefact);
-                    this.vaultRepository.save(vault);
-
-                    return input;
-                })
-                .toEither()
-                .mapLeft(ServiceUnavailableError::fromThrowable);
-    }
-
-    private Either<ApiError, Tuple2<String, String>> writeFile(UploadFileInput input) {
+    private Either<ApiError, WrittenFile> writeFile(UploadFileInput input) {
         return this.fileWriter
-                .saveFileToDisk(input.getContent())
-                .map(filename -> Tuple.of(filename, input.getUri()))
+                .saveFileToDisk(input.getUri(), input.getContent())
                 .mapLeft(persistenceError -> FileUploadError.builder().message(persistenceError.getMessage()).build());
     }
 
-    private Either<ApiError, UploadFileResult> updateFilename(Tuple2<String, String> filenameAndUri) {
-        String filename = filenameAndUri._1;
-        String uri = filenameAndUri._2;
+    private Either<ApiError, UploadFileResult> saveArtefact(UploadFileInput input, WrittenFile writtenFile) {
+        String vaultName = this.extractor.getVaultName(input.getUri());
 
         return Try.of(() -> {
-                    Artefact artefact = this.artefactRepository
-                            .findArtefactByUri(uri)
-                            .map(foundArtefact -> foundArtefact.setFilename(filename))
-                            .orElseThrow(IllegalArgumentException::new);
+                    MicroartUser user = (MicroartUser) SecurityContextHolder
+                            .getContext()
+                            .getAuthentication()
+                            .getDetails();
 
-                    this.artefactRepository.save(artefact);
+                    UUID vaultId = this.artefactRecorder.getVaultId(vaultName, user);
+                    this.artefactRecorder.record(vaultId, input.getUri(), writtenFile);
 
                     return UploadFileResult.builder().build();
                 })
                 .toEither()
-                .mapLeft(throwable -> ServiceUnavailableError.builder().build());
+                .mapLeft(ServiceUnavailableError::fromThrowable);
     }
 }
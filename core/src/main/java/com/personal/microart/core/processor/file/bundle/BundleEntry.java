@@ -0,0 +1,20 @@
+package com.personal.microart.core.processor.file.bundle;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.InputStream;
+
+/**
+ * Represents a file in a deployment bundle. The name is the path of the file relative to the vault, e.g.
+ * com/test/test/0.0.1-SNAPSHOT/test-0.0.1-20240125.124348-1.jar. The content can only be read until the next entry
+ * of the bundle is requested.
+ */
+@AllArgsConstructor
+@Getter
+public class BundleEntry {
+
+    private final String name;
+
+    private final InputStream content;
+}
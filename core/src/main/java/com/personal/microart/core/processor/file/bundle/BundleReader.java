@@ -0,0 +1,37 @@
+package com.personal.microart.core.processor.file.bundle;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Reads the files of a deployment bundle one by one, as the bundle is streamed. Directories and other special entries
+ * are skipped. Zip and tar bundles are supported, the format is detected from the content.
+ */
+public interface BundleReader {
+
+    /**
+     * Returns the next file of the bundle, or an empty optional at the end of the bundle. The content of the previous
+     * file is skipped if it was not read completely.
+     */
+    Optional<BundleEntry> nextEntry() throws IOException;
+
+    static BundleReader of(InputStream content) throws IOException {
+        InputStream bundle = new BufferedInputStream(content, TarBundleReader.BLOCK_SIZE);
+        bundle.mark(TarBundleReader.BLOCK_SIZE);
+        byte[] header = bundle.readNBytes(TarBundleReader.BLOCK_SIZE);
+        bundle.reset();
+
+        if (header.length >= 4 && header[0] == 'P' && header[1] == 'K' && header[2] == 3 && header[3] == 4) {
+            return new ZipBundleReader(bundle);
+        }
+
+        if (header.length == TarBundleReader.BLOCK_SIZE && "ustar".equals(new String(Arrays.copyOfRange(header, 257, 262)))) {
+            return new TarBundleReader(bundle);
+        }
+
+        throw new IllegalArgumentException("Bundle must be a zip or tar archive.");
+    }
+}
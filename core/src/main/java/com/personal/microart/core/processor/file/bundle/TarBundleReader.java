@@ -0,0 +1,188 @@
+package com.personal.microart.core.processor.file.bundle;
+
+import io.vavr.control.Try;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * A {@link BundleReader} for POSIX (ustar) tar archives, including GNU long names and pax path headers. The archive
+ * ends at the first block of zeros, an archive that is cut off before it is rejected.
+ */
+class TarBundleReader implements BundleReader {
+    static final int BLOCK_SIZE = 512;
+
+    /**
+     * Long names and pax headers are read into memory, their size is declared by the client.
+     */
+    private static final int MAXIMUM_METADATA_SIZE = 64 * 1024;
+
+    private final InputStream tar;
+    private EntryInputStream currentEntry;
+
+    TarBundleReader(InputStream content) {
+        this.tar = content;
+    }
+
+    @Override
+    public Optional<BundleEntry> nextEntry() throws IOException {
+        String longName = null;
+
+        while (true) {
+            this.skipCurrentEntry();
+
+            byte[] header = this.tar.readNBytes(BLOCK_SIZE);
+
+            if (header.length < BLOCK_SIZE) {
+                throw new IllegalArgumentException("Unexpected end of tar archive.");
+            }
+
+            if (this.isEmpty(header)) {
+                return Optional.empty();
+            }
+
+            long size = this.parseSize(header);
+            char type = (char) header[156];
+            this.currentEntry = new EntryInputStream(size);
+
+            switch (type) {
+                case 'L' -> longName = this.readName(this.readMetadata(size));
+                case 'x' -> longName = this.readPaxPath(this.readMetadata(size)).orElse(longName);
+                case '0', '\0' -> {
+                    return Optional.of(new BundleEntry(longName != null ? longName : this.getName(header), this.currentEntry));
+                }
+                default -> longName = null;
+            }
+        }
+    }
+
+    private void skipCurrentEntry() throws IOException {
+        if (this.currentEntry != null) {
+            this.currentEntry.skipRemaining();
+            this.currentEntry = null;
+        }
+    }
+
+    private Boolean isEmpty(byte[] block) {
+        for (byte b : block) {
+            if (b != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private String getName(byte[] header) {
+        String name = this.parseString(header, 0, 100);
+        String prefix = "ustar".equals(this.parseString(header, 257, 5)) ? this.parseString(header, 345, 155) : "";
+
+        return prefix.isEmpty() ? name : prefix + "/" + name;
+    }
+
+    private byte[] readMetadata(long size) throws IOException {
+        if (size > MAXIMUM_METADATA_SIZE) {
+            throw new IllegalArgumentException("Malformed tar header.");
+        }
+
+        return this.currentEntry.readAllBytes();
+    }
+
+    private String readName(byte[] name) {
+        return this.parseString(name, 0, name.length);
+    }
+
+    /**
+     * Pax headers are records of the form "length key=value\n". Only the path is of interest.
+     */
+    private Optional<String> readPaxPath(byte[] records) {
+        return Arrays.stream(new String(records, StandardCharsets.UTF_8).split("\n"))
+                .map(record -> record.substring(record.indexOf(' ') + 1))
+                .filter(record -> record.startsWith("path="))
+                .map(record -> record.substring("path=".length()))
+                .findFirst();
+    }
+
+    private String parseString(byte[] buffer, int offset, int length) {
+        int end = offset;
+
+        while (end < offset + length && buffer[end] != 0) {
+            end++;
+        }
+
+        return new String(buffer, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * A size that is not a non-negative octal number means the archive is corrupt, which is the client's fault.
+     */
+    private long parseSize(byte[] header) {
+        return Try.of(() -> this.parseOctal(header, 124, 12))
+                .filter(size -> size >= 0)
+                .getOrElseThrow(throwable -> new IllegalArgumentException("Malformed tar header.", throwable));
+    }
+
+    private long parseOctal(byte[] buffer, int offset, int length) {
+        String value = this.parseString(buffer, offset, length).trim();
+
+        return value.isEmpty() ? 0 : Long.parseLong(value, 8);
+    }
+
+    /**
+     * The content of a single entry. Reads at most the size of the entry and skips the padding of its last block.
+     */
+    private class EntryInputStream extends InputStream {
+        private long remaining;
+        private final long padding;
+
+        private EntryInputStream(long size) {
+            this.remaining = size;
+            this.padding = (BLOCK_SIZE - size % BLOCK_SIZE) % BLOCK_SIZE;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+
+            int read = tar.read();
+
+            if (read < 0) {
+                throw new IOException("Unexpected end of tar archive.");
+            }
+
+            this.remaining--;
+            return read;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (this.remaining <= 0) {
+                return -1;
+            }
+
+            int read = tar.read(buffer, offset, (int) Math.min(length, this.remaining));
+
+            if (read < 0) {
+                throw new IOException("Unexpected end of tar archive.");
+            }
+
+            this.remaining -= read;
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // the entry is closed by the reader when the next entry is requested
+        }
+
+        private void skipRemaining() throws IOException {
+            tar.skipNBytes(this.remaining + this.padding);
+            this.remaining = 0;
+        }
+    }
+}
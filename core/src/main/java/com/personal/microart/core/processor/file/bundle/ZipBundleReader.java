@@ -0,0 +1,35 @@
+package com.personal.microart.core.processor.file.bundle;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * A {@link BundleReader} for zip archives.
+ */
+class ZipBundleReader implements BundleReader {
+    private final ZipInputStream zip;
+
+    ZipBundleReader(InputStream content) {
+        this.zip = new ZipInputStream(content);
+    }
+
+    @Override
+    public Optional<BundleEntry> nextEntry() throws IOException {
+        for (ZipEntry entry = this.zip.getNextEntry(); entry != null; entry = this.zip.getNextEntry()) {
+            if (!entry.isDirectory()) {
+                return Optional.of(new BundleEntry(entry.getName(), new FilterInputStream(this.zip) {
+                    @Override
+                    public void close() {
+                        // the entry is closed by the reader when the next entry is requested
+                    }
+                }));
+            }
+        }
+
+        return Optional.empty();
+    }
+}
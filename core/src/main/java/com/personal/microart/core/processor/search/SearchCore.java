@@ -0,0 +1,117 @@
+package com.personal.microart.core.processor.search;
+
+import com.personal.microart.api.errors.ApiError;
+import com.personal.microart.api.errors.ConstraintViolationError;
+import com.personal.microart.api.errors.ServiceUnavailableError;
+import com.personal.microart.api.operations.search.SearchHit;
+import com.personal.microart.api.operations.search.SearchInput;
+import com.personal.microart.api.operations.search.SearchOperation;
+import com.personal.microart.api.operations.search.SearchResult;
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.index.Coordinates;
+import com.personal.microart.persistence.index.SearchIndex;
+import com.personal.microart.persistence.repositories.VaultRepository;
+import io.vavr.control.Either;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+import static io.vavr.API.*;
+import static io.vavr.Predicates.instanceOf;
+
+/**
+ * {@link SearchOperation} implementation. Looks up the coordinates in the {@link SearchIndex} and, same as browsing,
+ * only returns the ones in public vaults, vaults the user is authorized to and the user's own vaults. At most
+ * SEARCH_MAX_RESULTS versions are returned, which is also the default limit.
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchCore implements SearchOperation {
+    private final VaultRepository vaultRepository;
+    private final SearchIndex searchIndex;
+
+    @Value("${SEARCH_MAX_RESULTS}")
+    private Integer MAX_RESULTS;
+
+    @Override
+    public Either<ApiError, SearchResult> process(SearchInput input) {
+        return Try.of(() -> {
+                    Map<SearchIndex.Field, String> query = this.getQuery(input);
+                    Integer limit = this.getLimit(input.getLimit());
+
+                    return SearchResult
+                            .builder()
+                            .results(this.searchIndex
+                                    .search(query, this.getFindableVaults(), limit)
+                                    .stream()
+                                    .map(this::getSearchHit)
+                                    .toList())
+                            .build();
+                })
+                .toEither()
+                .mapLeft(throwable -> Match(throwable).of(
+                        Case($(instanceOf(IllegalArgumentException.class)), error -> ConstraintViolationError.builder().statusMessage(error.getMessage()).build()),
+                        Case($(), error -> ServiceUnavailableError.builder().build())));
+    }
+
+    private Map<SearchIndex.Field, String> getQuery(SearchInput input) {
+        Map<SearchIndex.Field, String> query = new EnumMap<>(SearchIndex.Field.class);
+
+        this.putIfPresent(query, SearchIndex.Field.GROUP_ID, input.getGroupId());
+        this.putIfPresent(query, SearchIndex.Field.ARTIFACT_ID, input.getArtifactId());
+        this.putIfPresent(query, SearchIndex.Field.VERSION, input.getVersion());
+
+        if (query.isEmpty()) {
+            throw new IllegalArgumentException("groupId, artifactId or version must be given");
+        }
+
+        return query;
+    }
+
+    private void putIfPresent(Map<SearchIndex.Field, String> query, SearchIndex.Field field, String value) {
+        if (value != null && !value.isBlank()) {
+            query.put(field, value.strip());
+        }
+    }
+
+    private Integer getLimit(Integer requestedLimit) {
+        if (requestedLimit == null) {
+            return this.MAX_RESULTS;
+        }
+
+        if (requestedLimit < 1) {
+            throw new IllegalArgumentException("limit must be greater than 0");
+        }
+
+        return Math.min(requestedLimit, this.MAX_RESULTS);
+    }
+
+    private SearchHit getSearchHit(Coordinates coordinates) {
+        return SearchHit
+                .builder()
+                .groupId(coordinates.getGroupId())
+                .artifactId(coordinates.getArtifactId())
+                .version(coordinates.getVersion())
+                .vault(coordinates.getVaultName())
+                .uri(coordinates.getUri().replaceFirst("^/mvn", "/browse"))
+                .build();
+    }
+
+    /**
+     * Depending on the user's authorization, returns the findable vaults the same way browsing does, but as
+     * username/vaultName, since vaults of different owners may share a name.
+     */
+    private Set<String> getFindableVaults() {
+        Object authDetails = SecurityContextHolder.getContext().getAuthentication().getDetails();
+
+        return authDetails instanceof MicroartUser
+                ? this.vaultRepository.findAllVisibleVaultPaths(((MicroartUser) authDetails).getUsername())
+                : this.vaultRepository.findAllPublicVaultPaths();
+    }
+}
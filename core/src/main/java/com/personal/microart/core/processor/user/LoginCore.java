@@ -2,6 +2,7 @@ package com.personal.microart.core.processor.user;
 
 import com.personal.microart.api.errors.ApiError;
 import com.personal.microart.api.errors.InvalidCredentialsError;
+import com.personal.microart.api.errors.ServerBusyError;
 import com.personal.microart.api.errors.ServiceUnavailableError;
 import com.personal.microart.api.operations.user.login.LoginInput;
 import com.personal.microart.api.operations.user.login.LoginOperation;
@@ -19,6 +20,8 @@ import org.springframework.core.convert.ConversionService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static io.vavr.API.*;
 import static io.vavr.Predicates.instanceOf;
 
@@ -74,9 +77,18 @@ public class LoginCore implements LoginOperation {
         String rawPassword = rawPasswordAndUserTuple._1;
         MicroartUser user = rawPasswordAndUserTuple._2;
 
-        return this.passwordEncoder.matches(rawPassword, user.getPassword())
-                ? Either.right(user)
-                : Either.left(InvalidCredentialsError.builder().build());
+        return Try.of(() -> this.passwordEncoder.matches(rawPassword, user.getPassword()))
+                .toEither()
+                .mapLeft(this::handlePasswordException)
+                .flatMap(matches -> matches
+                        ? Either.<ApiError, MicroartUser>right(user)
+                        : Either.<ApiError, MicroartUser>left(InvalidCredentialsError.builder().build()));
+    }
+
+    private ApiError handlePasswordException(Throwable throwable) {
+        return Match(throwable).of(
+                Case($(instanceOf(RejectedExecutionException.class)), ServerBusyError::fromThrowable),
+                Case($(), ServiceUnavailableError::fromThrowable));
     }
 
     private LoginResult getResult(MicroartUser user) {
@@ -8,16 +8,22 @@ import com.personal.microart.api.operations.user.logout.LogoutOperation;
 import com.personal.microart.api.operations.user.logout.LogoutResult;
 import com.personal.microart.core.auth.jwt.JwtProvider;
 import com.personal.microart.core.auth.jwt.Token;
+import com.personal.microart.persistence.blacklist.JwtBlacklist;
 import com.personal.microart.persistence.entities.BlacklistedJwt;
 import com.personal.microart.persistence.repositories.BlacklistedJwtRepository;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.JDBCException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
 import java.time.Instant;
 import java.time.ZoneOffset;
+import java.util.Objects;
+import java.util.Optional;
 
 import static io.vavr.API.*;
 import static io.vavr.Predicates.instanceOf;
@@ -36,39 +42,42 @@ import static io.vavr.Predicates.instanceOf;
 public class LogoutCore implements LogoutOperation {
     private final JwtProvider jwtProvider;
     private final BlacklistedJwtRepository blacklistedJwtRepository;
+    private final JwtBlacklist jwtBlacklist;
 
-
-    //TODO: protect against brute force attacks
     @Override
     public Either<ApiError, LogoutResult> process(LogoutInput input) {
 
-        return this.verifyHeader(input.getAuthentication())
-                .flatMap(this::verifyIfBlacklisted)
-                .flatMap(this::getToken)
+        return this.getToken(input.getAuthentication())
+                .flatMap(token -> this.verifyIfBlacklisted(input.getAuthentication()).map(rawHeader -> token))
                 .flatMap(this::isExpired)
                 .flatMap(token -> this.blacklist(input.getAuthentication(), token));
     }
 
-    private Either<ApiError, String> verifyHeader(String rawHeader) {
-        return this.jwtProvider.isValidJwt(rawHeader)
-                ? Either.right(rawHeader)
-                : Either.left(SilentFailError.builder().build());
+    /**
+     * Returns the token already decoded by the JWT filter for the current request, and decodes the header only if
+     * there is no such token, e.g. when processing outside a request.
+     */
+    private Either<ApiError, Token> getToken(String rawHeader) {
+        Token token = Optional.ofNullable(RequestContextHolder.getRequestAttributes())
+                .filter(ServletRequestAttributes.class::isInstance)
+                .map(attributes -> ((ServletRequestAttributes) attributes).getRequest())
+                .filter(request -> Objects.equals(rawHeader, request.getHeader(HttpHeaders.AUTHORIZATION)))
+                .map(this.jwtProvider::getJwt)
+                .orElseGet(() -> this.jwtProvider.getJwt(rawHeader));
+
+        return token.isEmpty()
+                ? Either.left(SilentFailError.builder().build())
+                : Either.right(token);
     }
 
     private Either<ApiError, String> verifyIfBlacklisted(String rawHeader) {
-        Boolean isBlacklisted = this.blacklistedJwtRepository.existsByToken(rawHeader.substring(7));
+        Boolean isBlacklisted = this.jwtBlacklist.contains(rawHeader.substring(7));
 
         return isBlacklisted
                 ? Either.left(SilentFailError.builder().build())
                 : Either.right(rawHeader);
     }
 
-    private Either<ApiError, Token> getToken(String rawHeader) {
-        return Try.of(() -> this.jwtProvider.getJwt(rawHeader))
-                .toEither()
-                .mapLeft(SilentFailError::fromThrowable);
-    }
-
     private Either<ApiError, Token> isExpired(Token token) {
         Boolean isExpired = token.getExp().isBefore(Instant.now().atOffset(ZoneOffset.UTC).toInstant());
 
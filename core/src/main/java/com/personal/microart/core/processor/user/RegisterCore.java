@@ -2,6 +2,7 @@ package com.personal.microart.core.processor.user;
 
 import com.personal.microart.api.errors.ApiError;
 import com.personal.microart.api.errors.ConstraintViolationError;
+import com.personal.microart.api.errors.ServerBusyError;
 import com.personal.microart.api.errors.ServiceUnavailableError;
 import com.personal.microart.api.operations.user.register.RegisterInput;
 import com.personal.microart.api.operations.user.register.RegisterOperation;
@@ -16,6 +17,8 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import static io.vavr.API.$;
 import static io.vavr.API.Case;
 import static io.vavr.Predicates.instanceOf;
@@ -38,17 +41,17 @@ public class RegisterCore implements RegisterOperation {
 
     @Override
     public Either<ApiError, RegisterResult> process(RegisterInput input) {
-        MicroartUser user = MicroartUser.builder()
-                .email(input.getEmail())
-                .username(input.getUsername())
-                .password(this.passwordEncoder.encode(input.getPassword()))
-                .build();
-
-        return Try.of(() -> this.userRepository.save(user))
+        return Try.of(() -> MicroartUser.builder()
+                        .email(input.getEmail())
+                        .username(input.getUsername())
+                        .password(this.passwordEncoder.encode(input.getPassword()))
+                        .build())
+                .map(this.userRepository::save)
                 .map(ignored -> RegisterResult.builder().build())
                 .toEither()
                 .mapLeft(throwable -> API.Match(throwable).of(
                         Case($(instanceOf(DataIntegrityViolationException.class)), exception -> ConstraintViolationError.builder().statusMessage("email or username already registered").build()),
+                        Case($(instanceOf(RejectedExecutionException.class)), ServerBusyError::fromThrowable),
                         Case($(), exception -> ServiceUnavailableError.builder().build())
                 ));
     }
@@ -1,11 +1,13 @@
 package com.personal.microart.core.processor.user;
 
 import com.personal.microart.api.errors.ApiError;
+import com.personal.microart.api.errors.ServerBusyError;
 import com.personal.microart.api.errors.ServiceUnavailableError;
 import com.personal.microart.api.errors.TokenInvalidError;
 import com.personal.microart.api.operations.user.resetpassword.ResetPasswordInput;
 import com.personal.microart.api.operations.user.resetpassword.ResetPasswordOperation;
 import com.personal.microart.api.operations.user.resetpassword.ResetPasswordResult;
+import com.personal.microart.core.auth.basic.CredentialCache;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.PasswordRecoveryToken;
 import com.personal.microart.persistence.repositories.PasswordRecoveryTokenRepository;
@@ -20,6 +22,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.concurrent.RejectedExecutionException;
 
 import static io.vavr.API.*;
 import static io.vavr.Predicates.instanceOf;
@@ -39,12 +42,14 @@ public class ResetPasswordCore implements ResetPasswordOperation {
     private final UserRepository userRepository;
     private final PasswordRecoveryTokenRepository passwordRecoveryTokenRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CredentialCache credentialCache;
 
 
     @Override
     public Either<ApiError, ResetPasswordResult> process(ResetPasswordInput input) {
         return this.getToken(input)
                 .flatMap(this::verifyToken)
+                .flatMap(this::encodePassword)
                 .flatMap(this::invalidateToken)
                 .flatMap(this::updatePassword);
     }
@@ -76,6 +81,18 @@ public class ResetPasswordCore implements ResetPasswordOperation {
                 .mapLeft(this::handleException);
     }
 
+    /**
+     * Hashes the new password before the token is spent, so a busy password encoder leaves the token usable for a retry.
+     */
+    private Either<ApiError, Tuple2<PasswordRecoveryToken, String>> encodePassword(Tuple2<PasswordRecoveryToken, String> tokenAndPassword) {
+        PasswordRecoveryToken token = tokenAndPassword._1;
+        String password = tokenAndPassword._2;
+
+        return Try.of(() -> Tuple.of(token, passwordEncoder.encode(password)))
+                .toEither()
+                .mapLeft(this::handleException);
+    }
+
     private Either<ApiError, Tuple2<PasswordRecoveryToken, String>> invalidateToken(Tuple2<PasswordRecoveryToken, String> tokenAndPassword) {
         PasswordRecoveryToken token = tokenAndPassword._1;
         String password = tokenAndPassword._2;
@@ -92,12 +109,13 @@ public class ResetPasswordCore implements ResetPasswordOperation {
 
     private Either<ApiError, ResetPasswordResult> updatePassword(Tuple2<PasswordRecoveryToken, String> tokenAndPassword) {
         PasswordRecoveryToken token = tokenAndPassword._1;
-        String password = tokenAndPassword._2;
+        String encodedPassword = tokenAndPassword._2;
 
         return Try.of(() -> {
                     MicroartUser user = token.getUser();
-                    user.setPassword(passwordEncoder.encode(password));
+                    user.setPassword(encodedPassword);
                     this.userRepository.save(user);
+                    this.credentialCache.invalidate(user.getUsername());
 
                     return ResetPasswordResult.builder().build();
                 })
@@ -108,6 +126,7 @@ public class ResetPasswordCore implements ResetPasswordOperation {
     private ApiError handleException(Throwable throwable) {
         return Match(throwable).of(
                 Case($(instanceOf(IllegalArgumentException.class)), TokenInvalidError::fromThrowable),
+                Case($(instanceOf(RejectedExecutionException.class)), ServerBusyError::fromThrowable),
                 Case($(), ServiceUnavailableError::fromThrowable));
     }
 }
@@ -7,6 +7,7 @@ import com.personal.microart.api.errors.UnauthorizedError;
 import com.personal.microart.api.operations.vault.adduser.AddUserInput;
 import com.personal.microart.api.operations.vault.adduser.AddUserOperation;
 import com.personal.microart.api.operations.vault.adduser.AddUserResult;
+import com.personal.microart.core.processor.browse.BrowseCache;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.Vault;
 import com.personal.microart.persistence.repositories.UserRepository;
@@ -29,6 +30,7 @@ import static io.vavr.Predicates.instanceOf;
 public class AddUserCore implements AddUserOperation {
     private final VaultRepository vaultRepository;
     private final UserRepository userRepository;
+    private final BrowseCache browseCache;
 
     @Override
     public Either<ApiError, AddUserResult> process(AddUserInput input) {
@@ -92,7 +94,10 @@ public class AddUserCore implements AddUserOperation {
         vault.addUser(targetUser);
 
         return Try.of(() -> Optional.of(this.vaultRepository.save(vault))
-                        .map(ignored -> AddUserResult.builder().build())
+                        .map(savedVault -> {
+                            this.browseCache.invalidate(savedVault);
+                            return AddUserResult.builder().build();
+                        })
                         .orElseThrow(IllegalStateException::new))
                 .toEither()
                 .mapLeft(ServiceUnavailableError::fromThrowable);
@@ -6,6 +6,9 @@ import com.personal.microart.api.errors.VaultNotFoundError;
 import com.personal.microart.api.operations.vault.delete.DeleteVaultInput;
 import com.personal.microart.api.operations.vault.delete.DeleteVaultOperation;
 import com.personal.microart.api.operations.vault.delete.DeleteVaultResult;
+import com.personal.microart.core.processor.browse.BrowseCache;
+import com.personal.microart.persistence.cache.ArtefactCache;
+import com.personal.microart.persistence.directorymanager.FileDeleter;
 import com.personal.microart.persistence.entities.Artefact;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.Vault;
@@ -16,24 +19,41 @@ import io.vavr.control.Try;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
 
 import java.util.List;
 
 import static io.vavr.API.*;
 import static io.vavr.Predicates.instanceOf;
 
+/**
+ * A {@link DeleteVaultOperation} implementation. Deletes the vault of the current user together with its artefacts in
+ * a single transaction, which is rolled back if any step fails. The files of the artefacts are released in the same
+ * transaction and deleted only after it has committed, unless other artefacts still reference them.
+ * Returns the following errors:
+ * <ul>
+ *     <li>{@link VaultNotFoundError} if the user has no vault with the given name</li>
+ *     <li>{@link ServiceUnavailableError} if the database is not available</li>
+ * </ul>
+ */
 @RequiredArgsConstructor
 @Component
+@Transactional
 public class DeleteVaultCore implements DeleteVaultOperation {
     private final ArtefactRepository artefactRepository;
     private final VaultRepository vaultRepository;
+    private final ArtefactCache artefactCache;
+    private final FileDeleter fileDeleter;
+    private final BrowseCache browseCache;
 
 
     @Override
     public Either<ApiError, DeleteVaultResult> process(DeleteVaultInput input) {
         return this.validateExisting(input)
+                .flatMap(this::deleteVault)
                 .flatMap(this::deleteArtefacts)
-                .flatMap(this::deleteVault);
+                .peekLeft(error -> TransactionAspectSupport.currentTransactionStatus().setRollbackOnly());
     }
 
     private Either<ApiError, Vault> validateExisting(DeleteVaultInput input) {
@@ -49,24 +69,31 @@ public class DeleteVaultCore implements DeleteVaultOperation {
     }
 
 
-    private Either<ApiError, Vault> deleteArtefacts(Vault vault) {
+    private Either<ApiError, List<Artefact>> deleteVault(Vault vault) {
         return Try.of(() -> {
-                    List<Artefact> artefactsToDelete = vault
-                            .getArtefacts()
-                            .stream()
-                            .map(artefact -> artefact.setFilename(null))
-                            .toList();
+                    List<Artefact> artefactsToDelete = List.copyOf(vault.getArtefacts());
 
-                    this.artefactRepository.saveAll(artefactsToDelete);
-
-                    return vault;
+                    this.vaultRepository.delete(vault);
+                    this.browseCache.invalidate(vault);
+                    return artefactsToDelete;
                 }).toEither()
                 .mapLeft(ServiceUnavailableError::fromThrowable);
     }
 
-    private Either<ApiError, DeleteVaultResult> deleteVault(Vault vault) {
+    /**
+     * Deletes the artefacts of the deleted vault and releases their files, which are deleted once the transaction has
+     * committed unless other artefacts still reference them.
+     */
+    private Either<ApiError, DeleteVaultResult> deleteArtefacts(List<Artefact> artefactsToDelete) {
         return Try.of(() -> {
-                    this.vaultRepository.delete(vault);
+                    this.artefactRepository.deleteAll(artefactsToDelete);
+                    this.artefactCache.invalidate(artefactsToDelete.stream().map(Artefact::getUri).toList());
+
+                    artefactsToDelete.stream()
+                            .map(Artefact::getFilename)
+                            .distinct()
+                            .forEach(this.fileDeleter::release);
+
                     return DeleteVaultResult.builder().build();
                 }).toEither()
                 .mapLeft(ServiceUnavailableError::fromThrowable);
@@ -5,6 +5,7 @@ import com.personal.microart.api.operations.vault.adduser.AddUserResult;
 import com.personal.microart.api.operations.vault.removeuser.RemoveUserInput;
 import com.personal.microart.api.operations.vault.removeuser.RemoveUserOperation;
 import com.personal.microart.api.operations.vault.removeuser.RemoveUserResult;
+import com.personal.microart.core.processor.browse.BrowseCache;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.Vault;
 import com.personal.microart.persistence.repositories.UserRepository;
@@ -30,6 +31,7 @@ import static io.vavr.Predicates.instanceOf;
 public class RemoveUserCore implements RemoveUserOperation {
     private final VaultRepository vaultRepository;
     private final UserRepository userRepository;
+    private final BrowseCache browseCache;
 
     @Override
     public Either<ApiError, RemoveUserResult> process(RemoveUserInput input) {
@@ -99,7 +101,10 @@ public class RemoveUserCore implements RemoveUserOperation {
                     vault.removeUser(targetUser);
 
                     return Optional.of(this.vaultRepository.save(vault))
-                            .map(ignored -> RemoveUserResult.builder().build())
+                            .map(savedVault -> {
+                                this.browseCache.invalidate(savedVault);
+                                return RemoveUserResult.builder().build();
+                            })
                             .orElseThrow(IllegalArgumentException::new);
                 })
                 .toEither()
@@ -0,0 +1,11 @@
+package com.personal.microart.core.ratelimit;
+
+/**
+ * Groups of endpoints that share a rate limit. Each client and each user has a separate bucket per endpoint class.
+ */
+public enum EndpointClass {
+    MVN_DOWNLOAD,
+    MVN_UPLOAD,
+    USER,
+    DEFAULT
+}
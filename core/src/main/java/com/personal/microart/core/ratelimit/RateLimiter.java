@@ -0,0 +1,153 @@
+package com.personal.microart.core.ratelimit;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process rate limiter with one token bucket per key (client IP or user) and {@link EndpointClass}. Buckets are
+ * implemented with the generic cell rate algorithm: each bucket holds only the time at which it will be full again,
+ * updated with a compare-and-set, so no locks are taken. The rate and burst size of each endpoint class are configured
+ * with RATE_LIMIT_{CLASS}_PER_MINUTE and RATE_LIMIT_{CLASS}_BURST, a rate of 0 disables the limit.
+ * <p>
+ * A bucket that is full again is indistinguishable from a new one, so such idle buckets are dropped by
+ * {@link #evictIdleBuckets()}. If there are still RATE_LIMIT_MAX_BUCKETS buckets after that, new keys share one overflow
+ * bucket per endpoint class until space frees up.
+ */
+@Component
+public class RateLimiter {
+    private static final String OVERFLOW_KEY = "overflow";
+
+    @Value("${RATE_LIMIT_MVN_DOWNLOAD_PER_MINUTE}")
+    private Long MVN_DOWNLOAD_PER_MINUTE;
+
+    @Value("${RATE_LIMIT_MVN_DOWNLOAD_BURST}")
+    private Long MVN_DOWNLOAD_BURST;
+
+    @Value("${RATE_LIMIT_MVN_UPLOAD_PER_MINUTE}")
+    private Long MVN_UPLOAD_PER_MINUTE;
+
+    @Value("${RATE_LIMIT_MVN_UPLOAD_BURST}")
+    private Long MVN_UPLOAD_BURST;
+
+    @Value("${RATE_LIMIT_USER_PER_MINUTE}")
+    private Long USER_PER_MINUTE;
+
+    @Value("${RATE_LIMIT_USER_BURST}")
+    private Long USER_BURST;
+
+    @Value("${RATE_LIMIT_DEFAULT_PER_MINUTE}")
+    private Long DEFAULT_PER_MINUTE;
+
+    @Value("${RATE_LIMIT_DEFAULT_BURST}")
+    private Long DEFAULT_BURST;
+
+    @Value("${RATE_LIMIT_MAX_BUCKETS}")
+    private Integer MAX_BUCKETS;
+
+    private final Map<EndpointClass, Limit> limits = new EnumMap<>(EndpointClass.class);
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    private void init() {
+        this.limits.put(EndpointClass.MVN_DOWNLOAD, new Limit(this.MVN_DOWNLOAD_PER_MINUTE, this.MVN_DOWNLOAD_BURST));
+        this.limits.put(EndpointClass.MVN_UPLOAD, new Limit(this.MVN_UPLOAD_PER_MINUTE, this.MVN_UPLOAD_BURST));
+        this.limits.put(EndpointClass.USER, new Limit(this.USER_PER_MINUTE, this.USER_BURST));
+        this.limits.put(EndpointClass.DEFAULT, new Limit(this.DEFAULT_PER_MINUTE, this.DEFAULT_BURST));
+    }
+
+    /**
+     * Takes a token from the bucket of the given key and endpoint class.
+     *
+     * @param key           The client IP or the user the request is counted against.
+     * @param endpointClass The endpoint class of the request.
+     * @return An empty Optional if the request is allowed, otherwise the time after which the next request is allowed.
+     */
+    public Optional<Duration> tryAcquire(String key, EndpointClass endpointClass) {
+        Limit limit = this.limits.get(endpointClass);
+
+        if (limit.isUnlimited()) {
+            return Optional.empty();
+        }
+
+        long now = System.nanoTime();
+        AtomicLong bucket = this.getBucket(key, endpointClass, now);
+
+        while (true) {
+            long fullAt = bucket.get();
+            long newFullAt = Math.max(fullAt - now, 0) + now + limit.interval;
+            long wait = newFullAt - now - limit.tolerance;
+
+            if (wait > 0) {
+                return Optional.of(Duration.ofNanos(wait));
+            }
+
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                return Optional.empty();
+            }
+        }
+    }
+
+    /**
+     * Drops all buckets that are full again, i.e. that were not used for long enough to refill completely.
+     *
+     * @return the number of dropped buckets
+     */
+    public Integer evictIdleBuckets() {
+        long now = System.nanoTime();
+        int size = this.buckets.size();
+
+        this.buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+
+        return size - this.buckets.size();
+    }
+
+    public Integer size() {
+        return this.buckets.size();
+    }
+
+    private AtomicLong getBucket(String key, EndpointClass endpointClass, long now) {
+        String bucketKey = endpointClass + ":" + key;
+        AtomicLong bucket = this.buckets.get(bucketKey);
+
+        if (bucket != null) {
+            return bucket;
+        }
+
+        if (this.buckets.size() >= this.MAX_BUCKETS) {
+            this.evictIdleBuckets();
+        }
+
+        if (this.buckets.size() >= this.MAX_BUCKETS) {
+            return this.buckets.computeIfAbsent(endpointClass + ":" + OVERFLOW_KEY, ignored -> new AtomicLong(now));
+        }
+
+        return this.buckets.computeIfAbsent(bucketKey, ignored -> new AtomicLong(now));
+    }
+
+    /**
+     * Rate of an endpoint class, as the interval between two requests and the number of requests allowed at once.
+     * Both are kept in nanoseconds.
+     */
+    private static class Limit {
+        private final long interval;
+        private final long tolerance;
+
+        private Limit(Long perMinute, Long burst) {
+            this.interval = perMinute > 0 ? TimeUnit.MINUTES.toNanos(1) / perMinute : 0;
+            this.tolerance = this.interval * Math.max(burst, 1);
+        }
+
+        private boolean isUnlimited() {
+            return this.interval == 0;
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.personal.microart.core.scheduling.tasks;
+
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Fills in the size of the artefacts that were stored before the size was recorded, once at startup, so metadata
+ * requests never write to the database. Artefacts are updated in batches, each in its own transaction, and paged by
+ * id, so an artefact whose file cannot be read is skipped and keeps an empty size. Such artefacts are measured on disk
+ * by every request instead.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArtefactSizeBackfill {
+    private final ArtefactRepository artefactRepository;
+
+    @Value("${SAVE_LOCATION}")
+    private String SAVE_LOCATION;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Artefact> artefacts = this.artefactRepository.findTop1000BySizeIsNullOrderById();
+
+        while (!artefacts.isEmpty()) {
+            artefacts.forEach(artefact -> Try.of(() -> Files.size(Path.of(this.SAVE_LOCATION, artefact.getFilename())))
+                    .forEach(artefact::setSize));
+            this.artefactRepository.saveAll(artefacts);
+
+            artefacts = this.artefactRepository.findTop1000BySizeIsNullAndIdGreaterThanOrderById(artefacts.get(artefacts.size() - 1).getId());
+        }
+    }
+}
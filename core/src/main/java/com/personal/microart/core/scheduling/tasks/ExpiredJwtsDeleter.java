@@ -0,0 +1,34 @@
+package com.personal.microart.core.scheduling.tasks;
+
+import com.personal.microart.core.scheduling.base.ScheduledTask;
+import com.personal.microart.persistence.blacklist.JwtBlacklist;
+import com.personal.microart.persistence.repositories.BlacklistedJwtRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Deletes all blacklisted JWTs past their validity from the database and from the {@link JwtBlacklist}. Such tokens are
+ * rejected by the JWT verifier anyway, so keeping them only grows the table and the filter. Runs on the
+ * EXPIRED_JWT_CLEANUP_CRON schedule.
+ */
+@Component
+@RequiredArgsConstructor
+public class ExpiredJwtsDeleter implements ScheduledTask {
+    private final BlacklistedJwtRepository blacklistedJwtRepository;
+    private final JwtBlacklist jwtBlacklist;
+
+    @Override
+    @Scheduled(cron = "${EXPIRED_JWT_CLEANUP_CRON}")
+    @Transactional
+    public void runScheduledTask() {
+        LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+        this.blacklistedJwtRepository.deleteAllByValidityBefore(now);
+        this.jwtBlacklist.removeExpired(now.toInstant(ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,23 @@
+package com.personal.microart.core.scheduling.tasks;
+
+import com.personal.microart.core.ratelimit.RateLimiter;
+import com.personal.microart.core.scheduling.base.ScheduledTask;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Drops the rate limit buckets of clients and users that have been idle long enough for their bucket to refill, so
+ * the memory of the {@link RateLimiter} stays bounded by the number of recently active clients. Runs every minute.
+ */
+@Component
+@RequiredArgsConstructor
+public class IdleRateLimitBucketsDeleter implements ScheduledTask {
+    private final RateLimiter rateLimiter;
+
+    @Override
+    @Scheduled(cron = "0 * * * * *")
+    public void runScheduledTask() {
+        this.rateLimiter.evictIdleBuckets();
+    }
+}
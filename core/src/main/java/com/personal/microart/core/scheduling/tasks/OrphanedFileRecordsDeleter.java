@@ -11,7 +11,9 @@ import org.springframework.stereotype.Component;
 import java.util.Set;
 
 /**
- * Deletes all file records that have a URI, but no file associated with them from the database at 02:00 every day.
+ * Deletes all file records that have a URI, but no file associated with them from the database. Artefacts are saved
+ * only once their file is written, so such records are only left by older versions. Runs on the
+ * ORPHANED_FILES_CLEANUP_CRON schedule, disabled by default.
  */
 @Component
 @RequiredArgsConstructor
@@ -19,7 +21,7 @@ public class OrphanedFileRecordsDeleter implements ScheduledTask {
     private final ArtefactRepository artefactRepository;
 
     @Override
-    @Scheduled(cron = "0 0 2 * * *")
+    @Scheduled(cron = "${ORPHANED_FILES_CLEANUP_CRON}")
     @Transactional
     public void runScheduledTask() {
         this.artefactRepository.deleteAllByFilename(null);
@@ -4,6 +4,7 @@ import com.personal.microart.core.scheduling.base.ScheduledTask;
 import com.personal.microart.persistence.directorymanager.DefaultDirectoryManager;
 import com.personal.microart.persistence.directorymanager.Directory;
 import com.personal.microart.persistence.directorymanager.FileDeleter;
+import com.personal.microart.persistence.directorymanager.FileWriter;
 import com.personal.microart.persistence.entities.Artefact;
 import com.personal.microart.persistence.repositories.ArtefactRepository;
 import lombok.RequiredArgsConstructor;
@@ -15,7 +16,12 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 /**
- * Deletes all files that are on disk but have no URI associated with them in the database at 02:00 every day.
+ * Deletes all files that are on disk but have no URI associated with them in the database. Uploads and vault deletions
+ * release their own files and interrupted uploads are recovered from the upload journal, so this full scan is only
+ * needed for stores written by older versions. Runs on the ORPHANED_FILES_CLEANUP_CRON schedule, disabled by default.
+ * Temporary files of uploads that are still being written are skipped. A file can be referenced by several artefacts
+ * when content-addressable storage is enabled, so every file is checked once more against its reference count right
+ * before it is deleted, in case a new upload started referencing it in the meantime.
  */
 @Component
 @RequiredArgsConstructor
@@ -25,18 +31,20 @@ public class OrphanedFilesDeleter implements ScheduledTask { //Grelod the Kind
     private final DefaultDirectoryManager directoryManager;
 
     @Override
-    @Scheduled(cron = "0 0 2 * * *")
+    @Scheduled(cron = "${ORPHANED_FILES_CLEANUP_CRON}")
     public void runScheduledTask() {
         directoryManager.getAllFiles()
                 .get()
                 .stream()
                 .map(this::findOrphans)
                 .flatMap(List::stream)
-                .forEach(this.fileDeleter::delete);
+                .forEach(this.fileDeleter::deleteIfUnreferenced);
     }
 
     private List<String> findOrphans(Directory directory) {
-        List<String> filesInDirectory = Arrays.stream(directory.getContent()).collect(Collectors.toList());
+        List<String> filesInDirectory = Arrays.stream(directory.getContent())
+                .filter(filename -> !filename.endsWith(FileWriter.TEMPORARY_FILE_SUFFIX))
+                .collect(Collectors.toList());
 
         filesInDirectory.removeAll(this.artefactRepository.findArtefactByFilenameStartingWith(directory.getName())
                 .stream()
@@ -0,0 +1,37 @@
+package com.personal.microart.core.scheduling.tasks;
+
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Fills in the parent path of the artefacts that were stored before the column existed, once at startup. The schema
+ * itself, including the indexes of the artefacts table, is updated by Hibernate. Artefacts are updated in batches, each
+ * in its own transaction, so a large table is never held in memory or locked as a whole.
+ */
+@Component
+@RequiredArgsConstructor
+public class ParentPathBackfill {
+    private final ArtefactRepository artefactRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        List<Artefact> artefacts = this.artefactRepository.findTop1000ByParentPathIsNull();
+
+        while (!artefacts.isEmpty()) {
+            artefacts.forEach(Artefact::updateParentPath);
+            this.artefactRepository.saveAll(artefacts);
+
+            if (artefacts.stream().anyMatch(artefact -> artefact.getParentPath() == null)) {
+                return;
+            }
+
+            artefacts = this.artefactRepository.findTop1000ByParentPathIsNull();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.personal.microart.core.scheduling.tasks;
+
+import com.personal.microart.core.Extractor;
+import com.personal.microart.persistence.directorymanager.FileDeleter;
+import com.personal.microart.persistence.directorymanager.FileWriter;
+import com.personal.microart.persistence.directorymanager.JournalEntry;
+import com.personal.microart.persistence.directorymanager.UploadJournal;
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.VaultRepository;
+import io.vavr.control.Try;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Finishes the uploads that were interrupted by a crash, as recorded in the {@link UploadJournal}, once at startup.
+ * Uploads whose file was completely written are replayed, unless the vault is gone or a newer upload to the same
+ * URI was committed in the meantime. All other uploads are discarded together with their files.
+ * <p>
+ * Every entry is recovered in its own transaction and closed only once that transaction has committed. An entry that
+ * fails stays in the journal and is retried on the next startup, without affecting the others.
+ */
+@Component
+@RequiredArgsConstructor
+public class UploadJournalRecovery {
+    private final UploadJournal uploadJournal;
+    private final ArtefactRepository artefactRepository;
+    private final VaultRepository vaultRepository;
+    private final FileDeleter fileDeleter;
+    private final FileWriter fileWriter;
+    private final Extractor extractor;
+    private final PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+
+        this.uploadJournal.getEntries()
+                .getOrElse(List.of())
+                .forEach(entry -> Try.run(() -> transactionTemplate.executeWithoutResult(status -> this.recover(entry))));
+    }
+
+    private void recover(JournalEntry entry) {
+        Optional<Artefact> existingArtefact = this.artefactRepository.findArtefactByUri(entry.getUri());
+        Optional<UUID> vaultId = this.vaultRepository.findIdByName(this.extractor.getVaultName(entry.getUri()));
+
+        boolean isCommitted = existingArtefact
+                .map(artefact -> artefact.getFilename() != null && artefact.getFilename().equals(entry.getFilename()))
+                .orElse(false);
+        boolean isSuperseded = existingArtefact
+                .map(artefact -> artefact.getTimestamp().atZone(ZoneId.systemDefault()).toInstant().isAfter(entry.getCreated()))
+                .orElse(false);
+
+        if (!isCommitted && !isSuperseded && vaultId.isPresent() && this.uploadJournal.isWritten(entry)) {
+            this.replay(entry, vaultId.get(), existingArtefact);
+        } else if (!isCommitted) {
+            this.fileDeleter.delete(entry.getTemporaryFile());
+            this.deleteAfterTransaction(entry.getFilename());
+        }
+
+        this.closeAfterCommit(entry);
+    }
+
+    private void closeAfterCommit(JournalEntry entry) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                uploadJournal.close(entry.getId());
+            }
+        });
+    }
+
+    /**
+     * The file is deleted only once the transaction of the entry is over, as the entry may have locked its reference
+     * count.
+     */
+    private void deleteAfterTransaction(String filename) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                fileDeleter.deleteIfUnreferenced(filename);
+            }
+        });
+    }
+
+    private void replay(JournalEntry entry, UUID vaultId, Optional<Artefact> existingArtefact) {
+        existingArtefact.map(Artefact::getFilename).ifPresent(this.fileDeleter::release);
+        this.fileWriter.acquire(entry.getFilename(), entry.getChecksums().getSha256());
+
+        Artefact artefact = existingArtefact
+                .orElseGet(() -> Artefact.builder().uri(entry.getUri()).build())
+                .setFilename(entry.getFilename())
+                .setSize(entry.getSize())
+                .setChecksums(entry.getChecksums())
+                .setTimestamp(LocalDateTime.ofInstant(entry.getCreated(), ZoneId.systemDefault()));
+
+        Artefact persistedArtefact = this.artefactRepository.save(artefact);
+
+        if (existingArtefact.isEmpty()) {
+            this.vaultRepository.addArtefact(vaultId, persistedArtefact.getId());
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.personal.microart.persistence.blacklist;
+
+import com.personal.microart.persistence.entities.BlacklistedJwt;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener of {@link BlacklistedJwt} that keeps the {@link JwtBlacklist} up to date. Changes made within a
+ * transaction are applied once it commits.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlacklistedJwtListener {
+    private final JwtBlacklist jwtBlacklist;
+
+    @PostPersist
+    public void onPersist(BlacklistedJwt blacklistedJwt) {
+        this.afterCommit(() -> this.jwtBlacklist.add(blacklistedJwt));
+    }
+
+    @PostRemove
+    public void onRemove(BlacklistedJwt blacklistedJwt) {
+        this.afterCommit(() -> this.jwtBlacklist.remove(blacklistedJwt));
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package com.personal.microart.persistence.blacklist;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A Bloom filter over SHA-256 digests. Each digest sets a fixed number of bits, derived from its first 16 bytes by
+ * double hashing. A key whose bits are not all set was never added, a key whose bits are all set was added with a false
+ * positive rate of about 1% while the filter holds no more than its expected number of keys. Bits can be set
+ * concurrently with lookups, keys cannot be removed - the filter is rebuilt instead.
+ */
+class BloomFilter {
+    private static final int HASH_FUNCTIONS = 7;
+    private static final int BITS_PER_KEY = 10;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final long capacity;
+
+    BloomFilter(long expectedKeys) {
+        long words = Math.max(1, (Math.max(expectedKeys, 64) * BITS_PER_KEY + 63) / 64);
+
+        this.bits = new AtomicLongArray((int) Math.min(words, Integer.MAX_VALUE));
+        this.bitCount = (long) this.bits.length() * 64;
+        this.capacity = Math.max(expectedKeys, 64);
+    }
+
+    long getCapacity() {
+        return this.capacity;
+    }
+
+    void add(byte[] digest) {
+        long hash1 = this.toLong(digest, 0);
+        long hash2 = this.toLong(digest, 8);
+
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, this.bitCount);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+
+            long current;
+            do {
+                current = this.bits.get(word);
+            } while ((current & mask) == 0 && !this.bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(byte[] digest) {
+        long hash1 = this.toLong(digest, 0);
+        long hash2 = this.toLong(digest, 8);
+
+        for (int i = 0; i < HASH_FUNCTIONS; i++) {
+            long index = Math.floorMod(hash1 + i * hash2, this.bitCount);
+
+            if ((this.bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private long toLong(byte[] bytes, int offset) {
+        long value = 0;
+
+        for (int i = offset; i < offset + 8; i++) {
+            value = (value << 8) | (bytes[i] & 0xff);
+        }
+
+        return value;
+    }
+}
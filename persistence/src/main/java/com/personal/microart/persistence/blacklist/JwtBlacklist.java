@@ -0,0 +1,114 @@
+package com.personal.microart.persistence.blacklist;
+
+import com.personal.microart.persistence.entities.BlacklistedJwt;
+import lombok.SneakyThrows;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the blacklisted JWTs, so authenticated requests do not query the database. Tokens are kept as the
+ * SHA-256 of their value, together with their expiry. Lookups first check a {@link BloomFilter}, which answers the
+ * common case of a token that was never blacklisted without touching the exact set. Tokens past their expiry are
+ * rejected by the JWT verifier anyway, so they are dropped by {@link #removeExpired(Instant)}, which also rebuilds the
+ * filter. Kept up to date by the {@link BlacklistedJwtListener} and loaded on startup by the
+ * {@link JwtBlacklistInitializer}.
+ */
+@Component
+public class JwtBlacklist {
+    @Value("${JWT_BLACKLIST_EXPECTED_SIZE}")
+    private Long EXPECTED_SIZE;
+
+    private final Map<String, Instant> tokens = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+
+    public Boolean contains(String token) {
+        byte[] digest = this.digest(token);
+        BloomFilter current = this.getFilter();
+
+        return current.mightContain(digest) && this.tokens.containsKey(HexFormat.of().formatHex(digest));
+    }
+
+    public synchronized void add(BlacklistedJwt blacklistedJwt) {
+        byte[] digest = this.digest(blacklistedJwt.getToken());
+        Instant validity = blacklistedJwt.getValidity() == null
+                ? Instant.MAX
+                : blacklistedJwt.getValidity().toInstant(ZoneOffset.UTC);
+
+        this.tokens.put(HexFormat.of().formatHex(digest), validity);
+
+        if (this.tokens.size() > this.getFilter().getCapacity()) {
+            this.rebuild();
+            return;
+        }
+
+        this.getFilter().add(digest);
+    }
+
+    public synchronized void addAll(Collection<BlacklistedJwt> blacklistedJwts) {
+        blacklistedJwts.forEach(this::add);
+    }
+
+    /**
+     * Removes a token from the exact set. The filter keeps its bits until the next rebuild, which only costs a lookup
+     * in the exact set for that token.
+     */
+    public synchronized void remove(BlacklistedJwt blacklistedJwt) {
+        this.tokens.remove(HexFormat.of().formatHex(this.digest(blacklistedJwt.getToken())));
+    }
+
+    /**
+     * Removes all tokens which expired before the given time and rebuilds the filter from the remaining ones.
+     *
+     * @return the number of removed tokens
+     */
+    public synchronized Integer removeExpired(Instant now) {
+        int size = this.tokens.size();
+        this.tokens.values().removeIf(validity -> validity.isBefore(now));
+        this.rebuild();
+
+        return size - this.tokens.size();
+    }
+
+    public Integer size() {
+        return this.tokens.size();
+    }
+
+    private BloomFilter getFilter() {
+        BloomFilter current = this.filter;
+
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (this) {
+            if (this.filter == null) {
+                this.filter = new BloomFilter(this.EXPECTED_SIZE);
+            }
+
+            return this.filter;
+        }
+    }
+
+    private void rebuild() {
+        BloomFilter rebuilt = new BloomFilter(Math.max(this.EXPECTED_SIZE, this.tokens.size() * 2L));
+        HexFormat hex = HexFormat.of();
+
+        this.tokens.keySet().forEach(key -> rebuilt.add(hex.parseHex(key)));
+        this.filter = rebuilt;
+    }
+
+    @SneakyThrows
+    private byte[] digest(String token) {
+        return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,26 @@
+package com.personal.microart.persistence.blacklist;
+
+import com.personal.microart.persistence.repositories.BlacklistedJwtRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Loads all blacklisted JWTs that have not expired yet into the {@link JwtBlacklist} on startup. Kept apart from the
+ * blacklist, since it is required by the {@link BlacklistedJwtListener} while the persistence layer itself is being set
+ * up.
+ */
+@Component
+@RequiredArgsConstructor
+public class JwtBlacklistInitializer {
+    private final BlacklistedJwtRepository blacklistedJwtRepository;
+    private final JwtBlacklist jwtBlacklist;
+
+    @PostConstruct
+    public void initialize() {
+        this.jwtBlacklist.addAll(this.blacklistedJwtRepository.findAllByValidityAfter(LocalDateTime.now(ZoneOffset.UTC)));
+    }
+}
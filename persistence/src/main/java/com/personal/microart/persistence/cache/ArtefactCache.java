@@ -0,0 +1,278 @@
+package com.personal.microart.persistence.cache;
+
+import com.personal.microart.persistence.directorymanager.ChecksumAlgorithm;
+import com.personal.microart.persistence.directorymanager.StoredFile;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * A bounded cache for the content of small artefacts, e.g. maven-metadata.xml, poms and checksum files, keyed by the
+ * artefact URI. The content is kept in direct byte buffers outside the heap. The size of the cache and the largest
+ * file that is cached are configured with ARTEFACT_CACHE_SIZE_MB and ARTEFACT_CACHE_MAX_ENTRY_KB.
+ * <p>
+ * Uses W-TinyLFU: new entries go into a small LRU window. Entries that fall out of the window are only admitted to
+ * the main LRU region if they are requested more often than the entry they would replace, as estimated by a
+ * {@link FrequencySketch}. This protects the popular files from one-off downloads of other small files.
+ * <p>
+ * Reads do not take a lock: entries are looked up in a concurrent map and every read is only recorded in a
+ * {@link ReadBuffer}. The frequency sketch and the LRU order of the regions are updated from that buffer under the
+ * eviction lock, which is otherwise only taken to add and remove entries. A read that finds the lock busy leaves the
+ * buffer for the next one to drain.
+ */
+@Component
+public class ArtefactCache {
+    private static final int WINDOW_PERCENTAGE = 1;
+
+    @Value("${ARTEFACT_CACHE_SIZE_MB}")
+    private Long CACHE_SIZE_MB;
+
+    @Value("${ARTEFACT_CACHE_MAX_ENTRY_KB}")
+    private Long MAX_ENTRY_SIZE_KB;
+
+    private final ConcurrentHashMap<String, StoredFile> entries = new ConcurrentHashMap<>();
+    private final ReadBuffer readBuffer = new ReadBuffer();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+
+    /**
+     * The LRU order of the window and main regions. Guarded by the eviction lock, like the sketch and the weights.
+     */
+    private final LinkedHashMap<String, StoredFile> window = new LinkedHashMap<>(16, 0.75f, true);
+    private final LinkedHashMap<String, StoredFile> main = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /**
+     * Incremented on every invalidation. Content read from disk is only cached if no invalidation happened since the
+     * read started, so an upload that overlaps with a download cannot leave stale content in the cache.
+     */
+    private final AtomicLong generation = new AtomicLong();
+
+    private FrequencySketch sketch;
+    private long capacity;
+    private long windowCapacity;
+    private long windowWeight;
+    private long mainWeight;
+
+    @PostConstruct
+    private void init() {
+        this.capacity = this.CACHE_SIZE_MB * 1024 * 1024;
+        this.windowCapacity = Math.max(this.capacity * WINDOW_PERCENTAGE / 100, this.getMaximumEntrySize());
+        this.sketch = new FrequencySketch(this.capacity / 1024);
+    }
+
+    public long getGeneration() {
+        return this.generation.get();
+    }
+
+    public boolean isCacheable(long size) {
+        return this.capacity > 0 && size <= this.getMaximumEntrySize();
+    }
+
+    /**
+     * Returns the cached file, if present. The returned content buffer is a private view that can be consumed freely.
+     */
+    public Optional<StoredFile> get(String uri) {
+        StoredFile storedFile = this.entries.get(uri);
+
+        if (this.readBuffer.offer(uri) && this.evictionLock.tryLock()) {
+            try {
+                this.drainReadBuffer();
+            } finally {
+                this.evictionLock.unlock();
+            }
+        }
+
+        if (storedFile == null) {
+            this.misses.increment();
+            return Optional.empty();
+        }
+
+        this.hits.increment();
+        return Optional.of(this.copyOf(storedFile));
+    }
+
+    /**
+     * Adds a file whose content was read while the cache was at the given generation. The file is ignored if any
+     * entry was invalidated in the meantime or it is larger than the maximum entry size.
+     */
+    public void put(String uri, StoredFile storedFile, long readGeneration) {
+        if (!this.isCacheable(storedFile.getSize())) {
+            return;
+        }
+
+        this.evictionLock.lock();
+
+        try {
+            if (readGeneration != this.generation.get()) {
+                return;
+            }
+
+            this.drainReadBuffer();
+            this.remove(uri);
+            this.window.put(uri, storedFile);
+            this.entries.put(uri, storedFile);
+            this.windowWeight += storedFile.getSize();
+
+            while (this.windowWeight > this.windowCapacity) {
+                Map.Entry<String, StoredFile> candidate = this.window.entrySet().iterator().next();
+                this.window.remove(candidate.getKey());
+                this.windowWeight -= candidate.getValue().getSize();
+
+                this.admit(candidate.getKey(), candidate.getValue());
+            }
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the given URIs and the checksum files served for them from the cache. When called within a transaction,
+     * the URIs are removed once more after the transaction completes, so readers that saw the old database state
+     * cannot cache the old content.
+     */
+    public void invalidate(Collection<String> artefactUris) {
+        List<String> uris = artefactUris.stream()
+                .flatMap(uri -> Stream.concat(Stream.of(uri), Arrays.stream(ChecksumAlgorithm.values()).map(algorithm -> algorithm.getChecksumUri(uri))))
+                .toList();
+
+        this.evict(uris);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(uris);
+                }
+            });
+        }
+    }
+
+    public void invalidate(String uri) {
+        this.invalidate(List.of(uri));
+    }
+
+    public CacheStatistics getStatistics() {
+        this.evictionLock.lock();
+
+        try {
+            return CacheStatistics.builder()
+                    .hits(this.hits.sum())
+                    .misses(this.misses.sum())
+                    .evictions(this.evictions.sum())
+                    .rejections(this.rejections.sum())
+                    .entries((long) this.entries.size())
+                    .weightBytes(this.windowWeight + this.mainWeight)
+                    .capacityBytes(this.capacity)
+                    .build();
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Counts the buffered reads in the frequency sketch and moves the entries that were read to the most recently
+     * used end of their region. Must be called under the eviction lock.
+     */
+    private void drainReadBuffer() {
+        this.readBuffer.drainTo(uri -> {
+            this.sketch.increment(uri);
+
+            if (this.window.get(uri) == null) {
+                this.main.get(uri);
+            }
+        });
+    }
+
+    /**
+     * Moves an entry that fell out of the window into the main region. If there is no room, the least recently used
+     * entry of the main region is the victim and the one requested less often is dropped. Must be called under the
+     * eviction lock.
+     */
+    private void admit(String key, StoredFile candidate) {
+        long mainCapacity = Math.max(this.capacity - this.windowCapacity, 0);
+
+        if (this.mainWeight + candidate.getSize() > mainCapacity) {
+            Iterator<Map.Entry<String, StoredFile>> victims = this.main.entrySet().iterator();
+
+            if (!victims.hasNext() || this.sketch.frequency(key) <= this.sketch.frequency(victims.next().getKey())) {
+                this.entries.remove(key);
+                this.rejections.increment();
+                return;
+            }
+
+            victims = this.main.entrySet().iterator();
+            while (this.mainWeight + candidate.getSize() > mainCapacity && victims.hasNext()) {
+                Map.Entry<String, StoredFile> victim = victims.next();
+                this.mainWeight -= victim.getValue().getSize();
+                this.entries.remove(victim.getKey());
+                victims.remove();
+                this.evictions.increment();
+            }
+        }
+
+        this.main.put(key, candidate);
+        this.mainWeight += candidate.getSize();
+    }
+
+    private void evict(Collection<String> uris) {
+        this.evictionLock.lock();
+
+        try {
+            this.generation.incrementAndGet();
+            uris.forEach(this::remove);
+        } finally {
+            this.evictionLock.unlock();
+        }
+    }
+
+    /**
+     * Must be called under the eviction lock.
+     */
+    private void remove(String uri) {
+        this.entries.remove(uri);
+
+        StoredFile removed = this.window.remove(uri);
+        if (removed != null) {
+            this.windowWeight -= removed.getSize();
+        }
+
+        removed = this.main.remove(uri);
+        if (removed != null) {
+            this.mainWeight -= removed.getSize();
+        }
+    }
+
+    private StoredFile copyOf(StoredFile storedFile) {
+        return StoredFile.builder()
+                .path(storedFile.getPath())
+                .size(storedFile.getSize())
+                .lastModified(storedFile.getLastModified())
+                .version(storedFile.getVersion())
+                .checksums(storedFile.getChecksums())
+                .content(storedFile.getContent().duplicate())
+                .build();
+    }
+
+    private long getMaximumEntrySize() {
+        return this.MAX_ENTRY_SIZE_KB * 1024;
+    }
+}
@@ -0,0 +1,29 @@
+package com.personal.microart.persistence.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * A snapshot of the {@link ArtefactCache} counters. Rejections are new entries that were not admitted, because they
+ * were requested less often than the entries they would have replaced.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class CacheStatistics {
+
+    Long hits;
+
+    Long misses;
+
+    Long evictions;
+
+    Long rejections;
+
+    Long entries;
+
+    Long weightBytes;
+
+    Long capacityBytes;
+}
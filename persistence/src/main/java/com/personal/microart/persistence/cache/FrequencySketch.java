@@ -0,0 +1,69 @@
+package com.personal.microart.persistence.cache;
+
+/**
+ * A Count-Min sketch that estimates how often a key has been requested recently. Each key is mapped to one counter per
+ * row and its frequency is the smallest of those counters. Counters saturate at 15 and are halved periodically, so old
+ * popularity fades away and the sketch keeps adapting to the current traffic. Used by {@link ArtefactCache} to decide
+ * which entries are worth keeping. Not thread-safe, callers must hold a lock.
+ */
+class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final int MAXIMUM_FREQUENCY = 15;
+
+    private final byte[][] counters;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(long expectedEntries) {
+        int width = Integer.highestOneBit((int) Math.min(Math.max(expectedEntries, 64), 1 << 24) - 1) << 1;
+
+        this.counters = new byte[SEEDS.length][width];
+        this.mask = width - 1;
+        this.sampleSize = width * 10;
+    }
+
+    int frequency(String key) {
+        int hash = key.hashCode();
+        int frequency = MAXIMUM_FREQUENCY;
+
+        for (int row = 0; row < SEEDS.length; row++) {
+            frequency = Math.min(frequency, this.counters[row][this.indexOf(hash, row)]);
+        }
+
+        return frequency;
+    }
+
+    void increment(String key) {
+        int hash = key.hashCode();
+
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = this.indexOf(hash, row);
+
+            if (this.counters[row][index] < MAXIMUM_FREQUENCY) {
+                this.counters[row][index]++;
+            }
+        }
+
+        if (++this.additions >= this.sampleSize) {
+            this.reset();
+        }
+    }
+
+    private void reset() {
+        for (byte[] row : this.counters) {
+            for (int i = 0; i < row.length; i++) {
+                row[i] = (byte) (row[i] >>> 1);
+            }
+        }
+
+        this.additions /= 2;
+    }
+
+    private int indexOf(int hash, int row) {
+        long mixed = (hash + SEEDS[row]) * SEEDS[row];
+        mixed ^= mixed >>> 32;
+
+        return (int) mixed & this.mask;
+    }
+}
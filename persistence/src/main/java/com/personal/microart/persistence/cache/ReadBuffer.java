@@ -0,0 +1,51 @@
+package com.personal.microart.persistence.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A lossy buffer of recently read keys, so reads can be recorded without taking a lock. The buffer is split into
+ * stripes, chosen by the reading thread, so concurrent readers rarely write to the same slots. Each stripe is a ring
+ * that overwrites its oldest keys when it is not drained in time - losing a few reads only makes the frequency
+ * estimates slightly less accurate. Used by {@link ArtefactCache}, which drains the buffer under its eviction lock.
+ */
+class ReadBuffer {
+    private static final int STRIPES = 16;
+    private static final int STRIPE_SIZE = 64;
+
+    /**
+     * The write counters of the stripes are spaced apart, so they do not share a cache line.
+     */
+    private static final int COUNTER_SPACING = 16;
+
+    private final AtomicReferenceArray<String> keys = new AtomicReferenceArray<>(STRIPES * STRIPE_SIZE);
+    private final AtomicLongArray writes = new AtomicLongArray(STRIPES * COUNTER_SPACING);
+
+    /**
+     * Records a read of the key.
+     *
+     * @return true if the stripe of the current thread has filled up and the buffer should be drained
+     */
+    boolean offer(String key) {
+        int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        long write = this.writes.getAndIncrement(stripe * COUNTER_SPACING);
+
+        this.keys.lazySet(stripe * STRIPE_SIZE + (int) (write & (STRIPE_SIZE - 1)), key);
+
+        return (write & (STRIPE_SIZE - 1)) == STRIPE_SIZE - 1;
+    }
+
+    /**
+     * Passes every buffered key to the consumer and empties the buffer. Must not be called concurrently.
+     */
+    void drainTo(Consumer<String> consumer) {
+        for (int i = 0; i < this.keys.length(); i++) {
+            String key = this.keys.getAndSet(i, null);
+
+            if (key != null) {
+                consumer.accept(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.personal.microart.persistence.cache;
+
+import com.personal.microart.persistence.entities.MicroartUser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * A bounded LRU cache of users keyed by username, used by the authentication filters so an authenticated request does
+ * not have to load the user from the database. Users are also indexed by ID, so an entry is invalidated even if the
+ * username was changed. The {@link UserCacheListener} invalidates a user once any change to it is committed, e.g. on
+ * registration, password reset or when it is enabled or disabled. The number of cached users is configured with
+ * USER_CACHE_SIZE. Users that do not exist are not cached.
+ */
+@Component
+public class UserCache {
+    @Value("${USER_CACHE_SIZE}")
+    private Integer CACHE_SIZE;
+
+    private final LinkedHashMap<String, MicroartUser> usersByUsername = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<UUID, String> usernamesById = new HashMap<>();
+
+    /**
+     * Incremented on every invalidation. A loaded user is only cached if no invalidation happened since the load
+     * started, so a change that commits while the user is being loaded cannot leave a stale user in the cache.
+     */
+    private long generation;
+
+    /**
+     * Returns the cached user with the given username, or loads it with the given loader and caches the result.
+     *
+     * @param username The username of the user.
+     * @param loader   Loads the user from the database on a cache miss.
+     * @return The user, or an empty Optional if there is no such user.
+     */
+    public Optional<MicroartUser> get(String username, Function<String, Optional<MicroartUser>> loader) {
+        long loadGeneration;
+
+        synchronized (this) {
+            MicroartUser cached = this.usersByUsername.get(username);
+
+            if (cached != null) {
+                return Optional.of(cached);
+            }
+
+            loadGeneration = this.generation;
+        }
+
+        Optional<MicroartUser> user = loader.apply(username);
+        user.ifPresent(loaded -> this.put(loaded, loadGeneration));
+
+        return user;
+    }
+
+    public synchronized void invalidate(MicroartUser user) {
+        this.generation++;
+
+        Optional.ofNullable(user.getId())
+                .map(this.usernamesById::remove)
+                .ifPresent(this.usersByUsername::remove);
+
+        Optional.ofNullable(user.getUsername())
+                .map(this.usersByUsername::remove)
+                .map(MicroartUser::getId)
+                .ifPresent(this.usernamesById::remove);
+    }
+
+    private synchronized void put(MicroartUser user, long loadGeneration) {
+        if (this.CACHE_SIZE <= 0 || loadGeneration != this.generation || user.getId() == null) {
+            return;
+        }
+
+        this.usersByUsername.put(user.getUsername(), user);
+        this.usernamesById.put(user.getId(), user.getUsername());
+
+        while (this.usersByUsername.size() > this.CACHE_SIZE) {
+            MicroartUser eldest = this.usersByUsername.remove(this.usersByUsername.keySet().iterator().next());
+            this.usernamesById.remove(eldest.getId());
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.personal.microart.persistence.cache;
+
+import com.personal.microart.persistence.entities.MicroartUser;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener of {@link MicroartUser} that invalidates the user in the {@link UserCache} once a change to it is
+ * committed.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheListener {
+    private final UserCache userCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(MicroartUser user) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.userCache.invalidate(user);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                userCache.invalidate(user);
+            }
+        });
+    }
+}
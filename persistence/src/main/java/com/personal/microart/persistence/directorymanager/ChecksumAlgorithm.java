@@ -0,0 +1,61 @@
+package com.personal.microart.persistence.directorymanager;
+
+import com.personal.microart.persistence.entities.Checksums;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * The checksum algorithms Maven publishes alongside each artefact. Each algorithm knows the extension of its
+ * checksum files, the name of its {@link java.security.MessageDigest} and where its value is kept in {@link Checksums}.
+ */
+@RequiredArgsConstructor
+public enum ChecksumAlgorithm {
+    MD5("md5", "MD5", Checksums::getMd5),
+    SHA1("sha1", "SHA-1", Checksums::getSha1),
+    SHA256("sha256", "SHA-256", Checksums::getSha256),
+    SHA512("sha512", "SHA-512", Checksums::getSha512);
+
+    @Getter
+    private final String extension;
+    @Getter
+    private final String digestName;
+    private final Function<Checksums, String> value;
+
+    /**
+     * Returns the algorithm of a checksum file URI, e.g. SHA1 for /mvn/user/vault/com/test/test-1.jar.sha1.
+     */
+    public static Optional<ChecksumAlgorithm> fromUri(String uri) {
+        return Arrays.stream(values())
+                .filter(algorithm -> uri.endsWith("." + algorithm.getExtension()))
+                .findFirst();
+    }
+
+    /**
+     * Returns the URI of the artefact a checksum file belongs to, e.g. /mvn/user/vault/com/test/test-1.jar for
+     * /mvn/user/vault/com/test/test-1.jar.sha1.
+     */
+    public String getArtefactUri(String checksumUri) {
+        return checksumUri.substring(0, checksumUri.length() - this.extension.length() - 1);
+    }
+
+    /**
+     * Reads the checksum from the content of a checksum file. Some tools append the filename after the checksum,
+     * e.g. "da39a3ee5e6b4b0d3255bfef95601890afd80709  test-1.jar", so only the first word is taken.
+     */
+    public static String parseChecksumFile(byte[] content) {
+        return new String(content, StandardCharsets.US_ASCII).trim().split("\\s+")[0].toLowerCase();
+    }
+
+    public String getChecksumUri(String artefactUri) {
+        return artefactUri + "." + this.extension;
+    }
+
+    public Optional<String> getValue(Checksums checksums) {
+        return Optional.ofNullable(checksums).map(this.value);
+    }
+}
@@ -0,0 +1,38 @@
+package com.personal.microart.persistence.directorymanager;
+
+import com.personal.microart.persistence.entities.Checksums;
+import lombok.SneakyThrows;
+
+import java.security.MessageDigest;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+
+/**
+ * Calculates all {@link ChecksumAlgorithm checksums} of a file in a single pass, while its content is being written.
+ */
+class ChecksumCalculator {
+    private final Map<ChecksumAlgorithm, MessageDigest> digests = new EnumMap<>(ChecksumAlgorithm.class);
+
+    @SneakyThrows
+    ChecksumCalculator() {
+        for (ChecksumAlgorithm algorithm : ChecksumAlgorithm.values()) {
+            this.digests.put(algorithm, MessageDigest.getInstance(algorithm.getDigestName()));
+        }
+    }
+
+    void update(byte[] buffer, int offset, int length) {
+        this.digests.values().forEach(digest -> digest.update(buffer, offset, length));
+    }
+
+    Checksums getChecksums() {
+        HexFormat hex = HexFormat.of();
+
+        return Checksums.builder()
+                .md5(hex.formatHex(this.digests.get(ChecksumAlgorithm.MD5).digest()))
+                .sha1(hex.formatHex(this.digests.get(ChecksumAlgorithm.SHA1).digest()))
+                .sha256(hex.formatHex(this.digests.get(ChecksumAlgorithm.SHA256).digest()))
+                .sha512(hex.formatHex(this.digests.get(ChecksumAlgorithm.SHA512).digest()))
+                .build();
+    }
+}
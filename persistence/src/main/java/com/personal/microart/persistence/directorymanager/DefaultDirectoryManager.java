@@ -6,21 +6,28 @@ import com.personal.microart.persistence.errors.ReadError;
 import com.personal.microart.persistence.errors.WriteError;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
+import jakarta.annotation.PostConstruct;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Default implementation of the {@link DirectoryManager}. Stores the files in hexadecimal numbered directories,
  * starting from 00. When the maximum directory size or file count is reached, a new directory is created.
- * Limits are set in the application properties. Current directory is stored in a cache to avoid unnecessary
- * file system operations. Cache is invalidated when a new directory is created.
+ * Limits are set in the application properties. The active directory, its file count and its size are scanned once
+ * at startup and then kept in memory, so choosing a directory never touches the file system. They are updated
+ * atomically, so concurrent uploads count every file exactly once and only one of them rolls over to the next
+ * directory.
  */
 @Component
 @RequiredArgsConstructor
@@ -34,13 +41,31 @@ public class DefaultDirectoryManager implements DirectoryManager {
 
     @Value("${MAXIMUM_DIRECTORY_ITEMS_COUNT}")
     private Integer MAXIMUM_DIRECTORY_ITEMS_COUNT;
-    private final String CACHEABLE_NAME = "activeDirectory";
 
-    private final CacheManager cacheManager;
+    private final AtomicReference<ActiveDirectory> activeDirectory = new AtomicReference<>();
+
+    /**
+     * Scans the save location at startup. If it is not available yet, e.g. a network drive that is not mounted,
+     * the scan is retried on the first upload.
+     */
+    @PostConstruct
+    private void initialize() {
+        this.scanActiveDirectory();
+    }
 
-    @Cacheable(CACHEABLE_NAME)
     @Override
     public Either<PersistenceError, String> getActiveDirectory() {
+        return Optional.ofNullable(this.activeDirectory.get())
+                .map(Either::<PersistenceError, ActiveDirectory>right)
+                .orElseGet(this::scanActiveDirectory)
+                .map(ActiveDirectory::getName);
+    }
+
+    private synchronized Either<PersistenceError, ActiveDirectory> scanActiveDirectory() {
+        if (this.activeDirectory.get() != null) {
+            return Either.right(this.activeDirectory.get());
+        }
+
         return Try.withResources(() -> Files.list(Path.of(this.SAVE_LOCATION)))
                 .of(stream -> {
                     Files.createDirectories(Path.of(this.SAVE_LOCATION + "/00"));
@@ -51,16 +76,25 @@ public class DefaultDirectoryManager implements DirectoryManager {
                             .filter(this::isParsable)
                             .filter(directoryName -> directoryName.length() % 2 == 0) //filter out directories with odd number of chars - directory "1fe" is different from "01fe" but both are equal to 510 dec
                             .map(directoryName -> Integer.parseInt(directoryName, 16))
-                            .sorted((i1, i2) -> Integer.compare(i2, i1))
-                            .map(directoryName -> Integer.toString(directoryName, 16))
-                            .map(directoryName -> directoryName.length() % 2 == 1 ? "0" + directoryName : directoryName) //pad directory names with zero if odd number of symbols
-                            .findFirst()
-                            .orElse("00");
+                            .max(Integer::compare)
+                            .orElse(0);
                 })
+                .mapTry(this::scanDirectory)
+                .andThen(this.activeDirectory::set)
                 .toEither()
                 .mapLeft(throwable -> WriteError.builder().message(throwable.getMessage()).build());
     }
 
+    private ActiveDirectory scanDirectory(Integer number) throws IOException {
+        try (Stream<Path> paths = Files.walk(Path.of(this.SAVE_LOCATION, this.toDirectoryName(number)))) {
+            List<Path> files = paths
+                    .filter(path -> !Files.isDirectory(path))
+                    .toList();
+
+            return new ActiveDirectory(number, files.size(), files.stream().mapToLong(path -> path.toFile().length()).sum());
+        }
+    }
+
     private Boolean isParsable(String s) {
         try {
             Integer.valueOf(s, 16);
@@ -70,28 +104,43 @@ public class DefaultDirectoryManager implements DirectoryManager {
         }
     }
 
+    /**
+     * Pads directory names with zero if odd number of symbols, e.g. 1fe becomes 01fe.
+     */
+    private String toDirectoryName(Integer number) {
+        String name = Integer.toString(number, 16);
+
+        return name.length() % 2 == 0 ? name : "0" + name;
+    }
+
+    /**
+     * Counts the persisted file towards the active directory and rolls over to the next directory once a limit is
+     * reached. Files persisted to a directory that is no longer active, because another upload rolled it over in the
+     * meantime, are not counted.
+     */
     @Override
-    public Either<PersistenceError, String> updateActiveDirectory(String currentActiveDirectory, String persistedFileName) {
-        return Try
-                .withResources(() -> Files.walk(Path.of(this.SAVE_LOCATION + "/" + currentActiveDirectory)))
-                .of(paths ->
-                {
-                    List<Path> files = paths
-                            .filter(path -> !Files.isDirectory(path))
-                            .toList();
-
-                    Integer fileCount = files.size();
-                    Long fileSizeMb = files.stream().mapToLong(path -> path.toFile().length()).sum() / 1024 / 1024;
-
-                    if (fileCount > this.MAXIMUM_DIRECTORY_ITEMS_COUNT - 1 || fileSizeMb > this.MAXIMUM_DIRECTORY_SIZE_MB) {
-                        this.cacheManager.getCache(this.CACHEABLE_NAME).invalidate();
-
-                        Integer currentNumber = Integer.parseInt(currentActiveDirectory, 16);
-                        String newNumber = Integer.toString(++currentNumber, 16);
-                        Files.createDirectories(Path.of(this.SAVE_LOCATION + "/" + (newNumber.length() % 2 == 0 ? newNumber : "0" + newNumber)));
-                    }
+    public Either<PersistenceError, String> updateActiveDirectory(String currentActiveDirectory, String persistedFileName, Long fileSize) {
+        return Try.of(() -> {
+                    while (true) {
+                        ActiveDirectory current = this.activeDirectory.get();
+
+                        if (current == null || !current.getName().equals(currentActiveDirectory)) {
+                            return persistedFileName;
+                        }
+
+                        ActiveDirectory updated = current.add(fileSize);
+
+                        if (updated.getFileCount() > this.MAXIMUM_DIRECTORY_ITEMS_COUNT - 1 || updated.getSize() / 1024 / 1024 > this.MAXIMUM_DIRECTORY_SIZE_MB) {
+                            Integer nextNumber = current.getNumber() + 1;
+                            Files.createDirectories(Path.of(this.SAVE_LOCATION, this.toDirectoryName(nextNumber)));
+
+                            updated = new ActiveDirectory(nextNumber, 0, 0);
+                        }
 
-                    return persistedFileName;
+                        if (this.activeDirectory.compareAndSet(current, updated)) {
+                            return persistedFileName;
+                        }
+                    }
                 })
                 .toEither()
                 .mapLeft(throwable -> WriteError.builder().message(throwable.getMessage()).build());
@@ -101,6 +150,7 @@ public class DefaultDirectoryManager implements DirectoryManager {
     public Either<PersistenceError, List<Directory>> getAllFiles() {
         return Try.withResources(() -> Files.list(Path.of(this.SAVE_LOCATION)))
                 .of(files -> files.filter(Files::isDirectory)
+                                .filter(dir -> this.isParsable(dir.getFileName().toString()))
                                 .map(dir -> Directory.builder()
                                         .name(dir.getFileName().toString())
                                         .content(dir.toFile().list())
@@ -109,4 +159,23 @@ public class DefaultDirectoryManager implements DirectoryManager {
                 .toEither()
                 .mapLeft(throwable -> ReadError.builder().error(Error.READ_ERROR).build());
     }
+
+    /**
+     * The active directory together with the number of files in it and their total size in bytes.
+     */
+    @AllArgsConstructor
+    @Getter
+    private class ActiveDirectory {
+        private final Integer number;
+        private final long fileCount;
+        private final long size;
+
+        private String getName() {
+            return toDirectoryName(this.number);
+        }
+
+        private ActiveDirectory add(Long fileSize) {
+            return new ActiveDirectory(this.number, this.fileCount + 1, this.size + fileSize);
+        }
+    }
 }
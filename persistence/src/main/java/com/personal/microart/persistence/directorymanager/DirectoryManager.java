@@ -22,10 +22,11 @@ public interface DirectoryManager {
      *
      * @param currentActiveDirectory the current active directory
      * @param persistedFileName the name of the file that was persisted
+     * @param fileSize the size of the persisted file in bytes
      * @return the name of the new active directory
      */
 
-    Either<PersistenceError, String> updateActiveDirectory(String currentActiveDirectory, String persistedFileName);
+    Either<PersistenceError, String> updateActiveDirectory(String currentActiveDirectory, String persistedFileName, Long fileSize);
 
     /**
      * Get all the files in all the managed directories.
@@ -1,17 +1,32 @@
 package com.personal.microart.persistence.directorymanager;
 
+import com.personal.microart.persistence.entities.StoredBlob;
 import com.personal.microart.persistence.errors.DeleteError;
 import com.personal.microart.persistence.errors.PersistenceError;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.StoredBlobRepository;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.File;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Deletes a file from the file system based on the file name and relative path, e.g. /01fe/ebf00a68-7903-4820-917a-f1ecfa3d418f
+ * Files that are no longer needed by an artefact are released instead, as they might still be referenced by other
+ * artefacts when content-addressable storage is enabled. Such files are tracked by a {@link StoredBlob} row, which is
+ * locked while its reference count is changed and while the file is deleted, so a file is never deleted while another
+ * transaction is about to reference it.
  */
 @Component
 @RequiredArgsConstructor
@@ -20,9 +35,76 @@ public class FileDeleter {
     @Value("${SAVE_LOCATION}")
     private String SAVE_LOCATION;
 
+    private final ArtefactRepository artefactRepository;
+    private final StoredBlobRepository storedBlobRepository;
+    private final PlatformTransactionManager transactionManager;
+
     public Either<PersistenceError, Boolean> delete(String file) {
         return Try.of(() -> new File(this.SAVE_LOCATION + "/" + file).delete())
                 .toEither()
                 .mapLeft(throwable -> DeleteError.builder().build());
     }
+
+    /**
+     * Drops one reference to the file in the current transaction, or in a new one if there is none. Once the
+     * transaction is over, the file is deleted if nothing references it anymore.
+     */
+    public void release(String file) {
+        if (file == null) {
+            return;
+        }
+
+        this.inTransaction(TransactionDefinition.PROPAGATION_REQUIRED, () -> this.findBlob(file)
+                .map(blob -> this.storedBlobRepository.save(blob.release())));
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            this.deleteIfUnreferenced(file);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                deleteIfUnreferenced(file);
+            }
+        });
+    }
+
+    /**
+     * Deletes the file if neither a committed reference count nor an artefact references it. Runs in its own
+     * transaction, which holds the lock on the reference count until the file is gone.
+     */
+    public Either<PersistenceError, Boolean> deleteIfUnreferenced(String file) {
+        if (file == null) {
+            return Either.right(false);
+        }
+
+        return Try.of(() -> this.inTransaction(TransactionDefinition.PROPAGATION_REQUIRES_NEW, () -> this.findBlob(file)
+                        .map(blob -> blob.isReferenced() ? Either.<PersistenceError, Boolean>right(false) : this.deleteBlob(blob))
+                        .orElseGet(() -> this.artefactRepository.existsByFilename(file) ? Either.right(false) : this.delete(file))))
+                .toEither()
+                .<PersistenceError>mapLeft(throwable -> DeleteError.builder().build())
+                .flatMap(deleted -> deleted);
+    }
+
+    private Either<PersistenceError, Boolean> deleteBlob(StoredBlob blob) {
+        this.storedBlobRepository.delete(blob);
+        return this.delete(blob.getFilename());
+    }
+
+    /**
+     * Files stored by content are named by their SHA-256, which is the key of their reference count.
+     */
+    private Optional<StoredBlob> findBlob(String file) {
+        return this.storedBlobRepository
+                .findLockedBySha256(Path.of(file).getFileName().toString())
+                .filter(blob -> file.equals(blob.getFilename()));
+    }
+
+    private <T> T inTransaction(int propagation, Supplier<T> action) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+        transactionTemplate.setPropagationBehavior(propagation);
+
+        return transactionTemplate.execute(status -> action.get());
+    }
 }
@@ -1,5 +1,7 @@
 package com.personal.microart.persistence.directorymanager;
 
+import com.personal.microart.persistence.cache.ArtefactCache;
+import com.personal.microart.persistence.entities.Artefact;
 import com.personal.microart.persistence.errors.Error;
 import com.personal.microart.persistence.errors.PersistenceError;
 import com.personal.microart.persistence.errors.ReadError;
@@ -10,14 +12,24 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import java.io.FileInputStream;
+import java.io.EOFException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.Optional;
 
 import static io.vavr.API.*;
 import static io.vavr.Predicates.instanceOf;
 
 /**
- * Reads a file from the file system based on the file name and relative path, e.g. /01fe/ebf00a68-7903-4820-917a-f1ecfa3d418f
- * and returns the file content as a byte array. Can return the following errors:
+ * Locates a file in the file system based on the file name and relative path, e.g. /01fe/ebf00a68-7903-4820-917a-f1ecfa3d418f
+ * and returns it as a {@link StoredFile}. Only small files are read into the {@link ArtefactCache}, the content of all
+ * other files is streamed to the client by the caller. Checksum files, e.g. test-1.jar.sha1, are not stored on disk and
+ * are answered from the checksums kept on the artefact they belong to. Can return the following errors:
  * <ul>
  *     <li>{@link Error#FILE_NOT_FOUND_ERROR} if the file is not found</li>
  *     <li>{@link Error#READ_ERROR} if the file cannot be read</li>
@@ -28,20 +40,71 @@ import static io.vavr.Predicates.instanceOf;
 @RequiredArgsConstructor
 public class FileReader {
     private final ArtefactRepository artefactRepository;
+    private final ArtefactCache artefactCache;
 
     @Value("${SAVE_LOCATION}")
     private String SAVE_LOCATION;
 
-    public Either<PersistenceError, byte[]> readFile(String uri) {
-        return this.getFilename(uri)
-                .flatMap(this::readFileContent);
+    /**
+     * Returns the file metadata without reading the content. Served from the {@link ArtefactCache} when possible.
+     */
+    public Either<PersistenceError, StoredFile> getFile(String uri) {
+        return this.artefactCache.get(uri)
+                .map(Either::<PersistenceError, StoredFile>right)
+                .orElseGet(() -> this.getChecksumFile(uri)
+                        .map(Either::<PersistenceError, StoredFile>right)
+                        .orElseGet(() -> this.getArtefact(uri).flatMap(this::getStoredFile)));
+    }
+
+    /**
+     * Returns the file for download. Small files are served from the {@link ArtefactCache}, or read into it when not
+     * present, so their content is available in memory. Larger files are streamed from disk by the caller.
+     */
+    public Either<PersistenceError, StoredFile> readFile(String uri) {
+        Optional<StoredFile> cachedFile = this.artefactCache.get(uri);
+
+        if (cachedFile.isPresent()) {
+            return Either.right(cachedFile.get());
+        }
+
+        long generation = this.artefactCache.getGeneration();
+
+        Optional<StoredFile> checksumFile = this.getChecksumFile(uri);
+
+        if (checksumFile.isPresent()) {
+            this.artefactCache.put(uri, checksumFile.get(), generation);
+            return Either.right(checksumFile.get());
+        }
+
+        return this.getArtefact(uri)
+                .flatMap(this::getStoredFile)
+                .map(storedFile -> this.cacheContent(uri, storedFile, generation));
+    }
+
+    /**
+     * Builds a checksum file from the checksum stored on its artefact. Empty if the URI is not a checksum file or the
+     * artefact was uploaded before checksums were recorded, in which case a separately uploaded file is looked up.
+     */
+    private Optional<StoredFile> getChecksumFile(String uri) {
+        return ChecksumAlgorithm.fromUri(uri)
+                .flatMap(algorithm -> this.artefactRepository
+                        .findArtefactByUri(algorithm.getArtefactUri(uri))
+                        .flatMap(artefact -> algorithm.getValue(artefact.getChecksums())
+                                .map(checksum -> {
+                                    byte[] content = checksum.getBytes(StandardCharsets.US_ASCII);
 
+                                    return StoredFile.builder()
+                                            .size((long) content.length)
+                                            .lastModified(artefact.getTimestamp().atZone(ZoneId.systemDefault()).toInstant())
+                                            .version(this.getVersion(artefact) + "-" + algorithm.getExtension())
+                                            .content(ByteBuffer.wrap(content).asReadOnlyBuffer())
+                                            .build();
+                                })));
     }
 
-    private Either<PersistenceError, String> getFilename(String uri) {
+    private Either<PersistenceError, Artefact> getArtefact(String uri) {
         return Try.of(() -> this.artefactRepository
-                        .findArtefactByUri(uri).orElseThrow(IllegalArgumentException::new) // uri points to non-existent file
-                        .getFilename())
+                        .findArtefactByUri(uri).orElseThrow(IllegalArgumentException::new)) // uri points to non-existent file
                 .toEither()
                 .mapLeft(throwable -> Match(throwable).of(
                         Case($(instanceOf(IllegalArgumentException.class)), ignored -> ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()),
@@ -49,12 +112,65 @@ public class FileReader {
                 ));
     }
 
-    private Either<PersistenceError, byte[]> readFileContent(String filename) {
+    /**
+     * Builds the stored file from the artefact metadata alone. Artefacts uploaded before the size was recorded are
+     * measured on disk until the size is filled in at startup, nothing is written here.
+     */
+    private Either<PersistenceError, StoredFile> getStoredFile(Artefact artefact) {
+        return Try.of(() -> {
+                    Path path = Path.of(this.SAVE_LOCATION, artefact.getFilename());
 
-        return Try.withResources(() -> new FileInputStream(this.SAVE_LOCATION + "/" + filename))
-                .of(FileInputStream::readAllBytes)
+                    return StoredFile.builder()
+                            .path(path)
+                            .size(artefact.getSize() != null ? artefact.getSize() : Files.size(path))
+                            .lastModified(artefact.getTimestamp().atZone(ZoneId.systemDefault()).toInstant())
+                            .version(this.getVersion(artefact))
+                            .checksums(artefact.getChecksums())
+                            .build();
+                })
                 .toEither()
                 .mapLeft(throwable -> ReadError.builder().error(Error.READ_ERROR).build());
     }
 
+    /**
+     * The SHA-256 of the content when known, so identical uploads keep the same version. Otherwise the artefact id,
+     * which changes with every upload.
+     */
+    private String getVersion(Artefact artefact) {
+        return ChecksumAlgorithm.SHA256.getValue(artefact.getChecksums())
+                .orElseGet(() -> artefact.getId().toString());
+    }
+
+    private StoredFile cacheContent(String uri, StoredFile storedFile, long generation) {
+        if (!this.artefactCache.isCacheable(storedFile.getSize())) {
+            return storedFile;
+        }
+
+        return Try.withResources(() -> FileChannel.open(storedFile.getPath(), StandardOpenOption.READ))
+                .of(channel -> {
+                    ByteBuffer content = ByteBuffer.allocateDirect(storedFile.getSize().intValue());
+
+                    while (content.hasRemaining()) {
+                        if (channel.read(content) < 0) {
+                            throw new EOFException();
+                        }
+                    }
+
+                    this.artefactCache.put(uri, this.withContent(storedFile, content.flip().asReadOnlyBuffer()), generation);
+
+                    return this.withContent(storedFile, content.asReadOnlyBuffer());
+                })
+                .getOrElse(storedFile);
+    }
+
+    private StoredFile withContent(StoredFile storedFile, ByteBuffer content) {
+        return StoredFile.builder()
+                .path(storedFile.getPath())
+                .size(storedFile.getSize())
+                .lastModified(storedFile.getLastModified())
+                .version(storedFile.getVersion())
+                .checksums(storedFile.getChecksums())
+                .content(content)
+                .build();
+    }
 }
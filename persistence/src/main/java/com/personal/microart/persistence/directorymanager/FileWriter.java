@@ -1,18 +1,41 @@
 package com.personal.microart.persistence.directorymanager;
 
+import com.personal.microart.persistence.entities.StoredBlob;
 import com.personal.microart.persistence.errors.PersistenceError;
 import com.personal.microart.persistence.errors.WriteError;
+import com.personal.microart.persistence.repositories.StoredBlobRepository;
 import io.vavr.control.Either;
 import io.vavr.control.Try;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Writes a file to the file system and returns the relative path to the file, e.g. /01fe/ebf00a68-7903-4820-917a-f1ecfa3d418f
+ * together with its size and checksums, which are calculated in the same pass as the file is written.
+ * The content is streamed through a fixed-size buffer into a temporary file in the active directory, which is flushed
+ * to disk and renamed once the whole content is written, so the file is never held in memory and is never visible
+ * half-written. Every upload is recorded in the {@link UploadJournal} while it is in progress.
+ * <p>
+ * With CONTENT_ADDRESSABLE_STORAGE enabled, files are named by the SHA-256 of their content instead of a random UUID
+ * and identical content is stored only once, e.g. a jar that is redeployed unchanged or uploaded to several vaults.
+ * All artefacts with the same content then reference the same file. The number of artefacts referencing a file is
+ * kept as its reference count in a {@link StoredBlob} row, which must be written in the same transaction as the
+ * artefacts, and the {@link FileDeleter} deletes the file only after a count of zero is committed. Disabled by default.
  * Correct directory is determined by the {@link DirectoryManager}.
  * Can return the following errors:
  * <ul>
@@ -22,33 +45,148 @@ import java.util.UUID;
 @Component
 @RequiredArgsConstructor
 public class FileWriter {
+    public static final String TEMPORARY_FILE_SUFFIX = ".part";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
     @Value("${SAVE_LOCATION}")
     private String SAVE_LOCATION;
 
+    @Value("${CONTENT_ADDRESSABLE_STORAGE}")
+    private Boolean CONTENT_ADDRESSABLE_STORAGE;
+
     private final DefaultDirectoryManager directoryManager;
+    private final StoredBlobRepository storedBlobRepository;
+    private final UploadJournal uploadJournal;
+    private final FileDeleter fileDeleter;
+    private final PlatformTransactionManager transactionManager;
 
-    public Either<PersistenceError, String> saveFileToDisk(byte[] data) {
+    /**
+     * Writes the content of an upload to the given URI. The upload is recorded in the {@link UploadJournal} before
+     * any content is written and the returned file carries the id of its entry, which the caller closes once the
+     * artefact is committed.
+     */
+    public Either<PersistenceError, WrittenFile> saveFileToDisk(String uri, InputStream content) {
         return this.directoryManager.getActiveDirectory()
-                .flatMap(activeDirectory -> this.writeFile(activeDirectory, data));
+                .flatMap(activeDirectory -> {
+                    String temporaryFile = activeDirectory + "/" + UUID.randomUUID() + TEMPORARY_FILE_SUFFIX;
+
+                    return this.uploadJournal.open(uri, temporaryFile)
+                            .flatMap(entry -> this.writeFile(activeDirectory, Path.of(this.SAVE_LOCATION, temporaryFile), content)
+                                    .flatMap(writtenFile -> this.uploadJournal.complete(entry, writtenFile)
+                                            .map(ignored -> this.withFilename(writtenFile, writtenFile.getFilename(), entry.getId()))
+                                            .peekLeft(ignored -> this.fileDeleter.release(writtenFile.getFilename())))
+                                    .peekLeft(ignored -> this.uploadJournal.close(entry.getId())));
+                });
 
     }
 
-    private Either<PersistenceError, String> writeFile(String activeDirectory, byte[] data) {
-        String filename = UUID.randomUUID().toString();
+    private Either<PersistenceError, WrittenFile> writeFile(String activeDirectory, Path temporaryFile, InputStream content) {
+        return Try.withResources(() -> FileChannel.open(temporaryFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE))
+                .of(channel -> {
+                    ChecksumCalculator checksumCalculator = new ChecksumCalculator();
+                    byte[] buffer = new byte[BUFFER_SIZE];
+                    long size = 0;
+
+                    for (int read = content.read(buffer); read >= 0; read = content.read(buffer)) {
+                        ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, read);
+
+                        while (chunk.hasRemaining()) {
+                            channel.write(chunk);
+                        }
 
-        return Try.withResources(() -> new FileOutputStream(this.SAVE_LOCATION + "/" + activeDirectory + "/" + filename))
-                .of(fileOutputStream -> {
-                    fileOutputStream.write(data);
+                        checksumCalculator.update(buffer, 0, read);
+                        size += read;
+                    }
 
-                    String persistedFileName = activeDirectory + "/" + filename;
-                    this.directoryManager.updateActiveDirectory(activeDirectory, persistedFileName);
+                    channel.force(true);
 
-                    return persistedFileName;
+                    return WrittenFile.builder()
+                            .size(size)
+                            .checksums(checksumCalculator.getChecksums())
+                            .build();
                 })
+                .mapTry(writtenFile -> this.CONTENT_ADDRESSABLE_STORAGE
+                        ? this.storeByContent(activeDirectory, temporaryFile, writtenFile)
+                        : this.store(activeDirectory, temporaryFile, UUID.randomUUID().toString(), writtenFile))
+                .onFailure(ignored -> Try.run(() -> Files.deleteIfExists(temporaryFile)))
                 .toEither()
                 .mapLeft(throwable -> WriteError.builder().message(throwable.getMessage()).build());
 
     }
 
+    /**
+     * Names the file by the SHA-256 of its content. If a file with the same content is already stored, the temporary
+     * file is dropped and the artefact will reference the stored one instead. Either way a reference to the file is
+     * added in the current transaction, which keeps the reference count locked until it is over.
+     */
+    private WrittenFile storeByContent(String activeDirectory, Path temporaryFile, WrittenFile writtenFile) throws IOException {
+        String sha256 = writtenFile.getChecksums().getSha256();
+
+        StoredBlob storedBlob = this.lockBlob(sha256);
+        Optional<String> storedFilename = Optional.ofNullable(storedBlob.getFilename())
+                .filter(filename -> Files.exists(Path.of(this.SAVE_LOCATION, filename)));
+
+        WrittenFile storedFile;
+
+        if (storedFilename.isPresent()) {
+            Files.delete(temporaryFile);
+            storedFile = this.withFilename(writtenFile, storedFilename.get(), null);
+        } else {
+            storedFile = this.store(activeDirectory, temporaryFile, sha256, writtenFile);
+        }
+
+        this.storedBlobRepository.save(storedBlob.acquire(storedFile.getFilename()));
+
+        return storedFile;
+    }
+
+    /**
+     * Locks the reference count of the content until the current transaction is over. A row that does not exist yet
+     * cannot be locked, so it is first inserted without references in a transaction of its own. If another upload of
+     * the same content inserts it at the same time, one of the inserts fails and both lock the same row, so even the
+     * first uploads of some content are serialized.
+     */
+    private StoredBlob lockBlob(String sha256) {
+        if (!this.storedBlobRepository.existsById(sha256)) {
+            TransactionTemplate transactionTemplate = new TransactionTemplate(this.transactionManager);
+            transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+            Try.run(() -> transactionTemplate.executeWithoutResult(status -> this.storedBlobRepository.insert(sha256)));
+        }
+
+        return this.storedBlobRepository
+                .findLockedBySha256(sha256)
+                .orElseThrow(() -> new IllegalStateException("Reference count of " + sha256 + " cannot be locked."));
+    }
+
+    /**
+     * Adds a reference to a file that was written earlier, e.g. when an interrupted upload is replayed. Files that
+     * were not stored by content are referenced by a single artefact and are not counted.
+     */
+    public void acquire(String filename, String sha256) {
+        if (filename == null || sha256 == null || !Path.of(filename).getFileName().toString().equals(sha256)) {
+            return;
+        }
+
+        this.storedBlobRepository.save(this.lockBlob(sha256).acquire(filename));
+    }
+
+    private WrittenFile store(String activeDirectory, Path temporaryFile, String filename, WrittenFile writtenFile) throws IOException {
+        Files.move(temporaryFile, Path.of(this.SAVE_LOCATION, activeDirectory, filename), StandardCopyOption.ATOMIC_MOVE);
+
+        String persistedFileName = activeDirectory + "/" + filename;
+        this.directoryManager.updateActiveDirectory(activeDirectory, persistedFileName, writtenFile.getSize());
 
+        return this.withFilename(writtenFile, persistedFileName, null);
+    }
+
+    private WrittenFile withFilename(WrittenFile writtenFile, String filename, String journalEntry) {
+        return WrittenFile.builder()
+                .filename(filename)
+                .size(writtenFile.getSize())
+                .checksums(writtenFile.getChecksums())
+                .journalEntry(journalEntry)
+                .build();
+    }
 }
@@ -0,0 +1,32 @@
+package com.personal.microart.persistence.directorymanager;
+
+import com.personal.microart.persistence.entities.Checksums;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Represents an upload in progress, as recorded in the {@link UploadJournal}. The filename, size and checksums are
+ * null until the content is completely written and moved to its final place.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class JournalEntry {
+
+    String id;
+
+    String uri;
+
+    String temporaryFile;
+
+    Instant created;
+
+    String filename;
+
+    Long size;
+
+    Checksums checksums;
+}
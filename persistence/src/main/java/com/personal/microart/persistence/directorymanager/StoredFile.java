@@ -0,0 +1,35 @@
+package com.personal.microart.persistence.directorymanager;
+
+import com.personal.microart.persistence.entities.Checksums;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Represents a stored artefact in the file system. Holds only the location, the size, the upload time and the version
+ * of the file, so the content can be streamed directly from disk instead of being loaded into memory. The version
+ * changes every time a new file is uploaded to the same URI. Small, frequently requested files also carry their
+ * content from the {@link com.personal.microart.persistence.cache.ArtefactCache ArtefactCache}, otherwise the content
+ * is null. The checksums are the ones calculated when the file was uploaded, null for files uploaded before.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class StoredFile {
+
+    Path path;
+
+    Long size;
+
+    Instant lastModified;
+
+    String version;
+
+    Checksums checksums;
+
+    ByteBuffer content;
+}
@@ -0,0 +1,177 @@
+package com.personal.microart.persistence.directorymanager;
+
+import com.personal.microart.persistence.entities.Checksums;
+import com.personal.microart.persistence.errors.Error;
+import com.personal.microart.persistence.errors.PersistenceError;
+import com.personal.microart.persistence.errors.ReadError;
+import com.personal.microart.persistence.errors.WriteError;
+import io.vavr.control.Either;
+import io.vavr.control.Try;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * A journal of the uploads in progress, kept in the journal directory of the SAVE_LOCATION. An entry is opened before
+ * the content of an upload is written and completed once the file is in its final place. It is closed after the
+ * artefact is committed to the database. Only uploads interrupted by a crash leave their entries behind, so recovery
+ * only has to look at those instead of scanning the whole store. Entries are small property files that are written
+ * to a temporary file, flushed to disk and then renamed, so an entry is never read half-written.
+ * Can return the following errors:
+ * <ul>
+ *     <li>{@link WriteError} if an entry cannot be written</li>
+ *     <li>{@link ReadError} if the entries cannot be read</li>
+ * </ul>
+ */
+@Component
+public class UploadJournal {
+    private static final String JOURNAL_DIRECTORY = "journal";
+    private static final String ENTRY_SUFFIX = ".entry";
+
+    @Value("${SAVE_LOCATION}")
+    private String SAVE_LOCATION;
+
+    public Either<PersistenceError, JournalEntry> open(String uri, String temporaryFile) {
+        JournalEntry entry = JournalEntry.builder()
+                .id(UUID.randomUUID().toString())
+                .uri(uri)
+                .temporaryFile(temporaryFile)
+                .created(Instant.now())
+                .build();
+
+        return this.write(entry);
+    }
+
+    public Either<PersistenceError, JournalEntry> complete(JournalEntry entry, WrittenFile writtenFile) {
+        return this.write(JournalEntry.builder()
+                .id(entry.getId())
+                .uri(entry.getUri())
+                .temporaryFile(entry.getTemporaryFile())
+                .created(entry.getCreated())
+                .filename(writtenFile.getFilename())
+                .size(writtenFile.getSize())
+                .checksums(writtenFile.getChecksums())
+                .build());
+    }
+
+    public void close(String id) {
+        if (id == null) {
+            return;
+        }
+
+        Try.run(() -> Files.deleteIfExists(this.getEntryPath(id)));
+    }
+
+    public Either<PersistenceError, List<JournalEntry>> getEntries() {
+        return Try.run(() -> Files.createDirectories(this.getJournalDirectory()))
+                .flatMap(ignored -> Try.withResources(() -> Files.list(this.getJournalDirectory()))
+                        .of(paths -> paths
+                                .filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX))
+                                .flatMap(path -> this.read(path).stream())
+                                .toList()))
+                .toEither()
+                .mapLeft(throwable -> ReadError.builder().error(Error.READ_ERROR).build());
+    }
+
+    /**
+     * Returns true if the file of a completed entry is in its final place.
+     */
+    public Boolean isWritten(JournalEntry entry) {
+        return entry.getFilename() != null && Files.exists(Path.of(this.SAVE_LOCATION, entry.getFilename()));
+    }
+
+    private Either<PersistenceError, JournalEntry> write(JournalEntry entry) {
+        Path entryPath = this.getEntryPath(entry.getId());
+        Path temporaryPath = entryPath.resolveSibling(entry.getId() + FileWriter.TEMPORARY_FILE_SUFFIX);
+
+        return Try.run(() -> Files.createDirectories(this.getJournalDirectory()))
+                .andThenTry(() -> {
+                    try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                        ByteBuffer content = ByteBuffer.wrap(this.serialize(entry));
+
+                        while (content.hasRemaining()) {
+                            channel.write(content);
+                        }
+
+                        channel.force(true);
+                    }
+
+                    Files.move(temporaryPath, entryPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                })
+                .map(ignored -> entry)
+                .toEither()
+                .mapLeft(throwable -> WriteError.builder().message(throwable.getMessage()).build());
+    }
+
+    private Optional<JournalEntry> read(Path path) {
+        return Try.withResources(() -> Files.newInputStream(path))
+                .of(this::deserialize)
+                .toJavaOptional();
+    }
+
+    private byte[] serialize(JournalEntry entry) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("id", entry.getId());
+        properties.setProperty("uri", entry.getUri());
+        properties.setProperty("temporaryFile", entry.getTemporaryFile());
+        properties.setProperty("created", entry.getCreated().toString());
+
+        Optional.ofNullable(entry.getFilename()).ifPresent(filename -> properties.setProperty("filename", filename));
+        Optional.ofNullable(entry.getSize()).ifPresent(size -> properties.setProperty("size", size.toString()));
+        Optional.ofNullable(entry.getChecksums()).ifPresent(checksums -> Stream.of(ChecksumAlgorithm.values())
+                .forEach(algorithm -> algorithm.getValue(checksums)
+                        .ifPresent(checksum -> properties.setProperty(algorithm.getExtension(), checksum))));
+
+        StringWriter writer = new StringWriter();
+        properties.store(writer, null);
+
+        return writer.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private JournalEntry deserialize(InputStream inputStream) throws IOException {
+        Properties properties = new Properties();
+        properties.load(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        String filename = properties.getProperty("filename");
+
+        return JournalEntry.builder()
+                .id(properties.getProperty("id"))
+                .uri(properties.getProperty("uri"))
+                .temporaryFile(properties.getProperty("temporaryFile"))
+                .created(Instant.parse(properties.getProperty("created")))
+                .filename(filename)
+                .size(filename == null ? null : Long.valueOf(properties.getProperty("size")))
+                .checksums(filename == null ? null : Checksums.builder()
+                        .md5(properties.getProperty(ChecksumAlgorithm.MD5.getExtension()))
+                        .sha1(properties.getProperty(ChecksumAlgorithm.SHA1.getExtension()))
+                        .sha256(properties.getProperty(ChecksumAlgorithm.SHA256.getExtension()))
+                        .sha512(properties.getProperty(ChecksumAlgorithm.SHA512.getExtension()))
+                        .build())
+                .build();
+    }
+
+    private Path getJournalDirectory() {
+        return Path.of(this.SAVE_LOCATION, JOURNAL_DIRECTORY);
+    }
+
+    private Path getEntryPath(String id) {
+        return this.getJournalDirectory().resolve(id + ENTRY_SUFFIX);
+    }
+}
@@ -0,0 +1,25 @@
+package com.personal.microart.persistence.directorymanager;
+
+import com.personal.microart.persistence.entities.Checksums;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Represents a file that was just written to the file system. Holds the relative path to the file,
+ * e.g. 01fe/ebf00a68-7903-4820-917a-f1ecfa3d418f, its size and the checksums calculated while writing it.
+ * The journal entry is the id of the {@link UploadJournal} entry that must be closed once the artefact is committed.
+ */
+@AllArgsConstructor
+@Builder
+@Getter
+public class WrittenFile {
+
+    String filename;
+
+    Long size;
+
+    Checksums checksums;
+
+    String journalEntry;
+}
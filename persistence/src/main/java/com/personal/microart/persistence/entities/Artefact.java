@@ -1,5 +1,6 @@
 package com.personal.microart.persistence.entities;
 
+import com.personal.microart.persistence.index.ArtefactIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import lombok.experimental.Accessors;
@@ -11,13 +12,18 @@ import java.util.UUID;
 @Setter(AccessLevel.PRIVATE)
 @Getter
 @Entity
-@Table(name = "artefacts")
-
+@Table(name = "artefacts", indexes = {
+        @Index(name = "idx_artefacts_uri", columnList = "uri", unique = true),
+        @Index(name = "idx_artefacts_parent_path", columnList = "parentPath"),
+        @Index(name = "idx_artefacts_filename", columnList = "filename"),
+        @Index(name = "idx_artefacts_sha256", columnList = "sha256")
+})
+@EntityListeners(ArtefactIndexListener.class)
 public class Artefact {
 
     @Builder
     public Artefact(String uri, String filename) {
-        this.uri = uri;
+        this.setUri(uri);
         this.filename = filename;
         this.timestamp = LocalDateTime.now();
     }
@@ -26,13 +32,47 @@ public class Artefact {
     @GeneratedValue(strategy = GenerationType.UUID)
     private UUID id;
 
-    @Setter
     private String uri;
 
+    /**
+     * The URI of the directory that holds the artefact, e.g. /mvn/username/vaultName/com/test/test/0.0.1 for
+     * /mvn/username/vaultName/com/test/test/0.0.1/test-0.0.1.jar. Derived from the URI, so the direct children of a
+     * directory can be found with an indexed equality lookup instead of a LIKE scan.
+     */
+    private String parentPath;
+
+    public void setUri(String uri) {
+        this.uri = uri;
+        this.updateParentPath();
+    }
+
+    /**
+     * Derives the parent path from the URI. Only needs to be called directly for artefacts stored before the parent
+     * path existed.
+     */
+    public Artefact updateParentPath() {
+        this.parentPath = this.uri == null || !this.uri.contains("/")
+                ? null
+                : this.uri.substring(0, this.uri.lastIndexOf('/'));
+
+        return this;
+    }
+
     @Accessors(chain = true)
     @Setter
     private String filename;
 
+    @Accessors(chain = true)
+    @Setter
+    private Long size;
+
+    @Accessors(chain = true)
+    @Setter
+    @Embedded
+    private Checksums checksums;
+
+    @Accessors(chain = true)
+    @Setter
     private LocalDateTime timestamp;
 
     @Override
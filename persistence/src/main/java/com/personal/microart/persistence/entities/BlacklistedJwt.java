@@ -1,8 +1,8 @@
 package com.personal.microart.persistence.entities;
 
+import com.personal.microart.persistence.blacklist.BlacklistedJwtListener;
 import jakarta.persistence.*;
 import lombok.*;
-import lombok.experimental.Accessors;
 
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -11,8 +11,10 @@ import java.util.UUID;
 @Setter(AccessLevel.PRIVATE)
 @Getter
 @Entity
-@Table(name = "blacklisted_jwt")
-
+@Table(name = "blacklisted_jwt", indexes = {
+        @Index(name = "idx_blacklisted_jwt_validity", columnList = "validity")
+})
+@EntityListeners(BlacklistedJwtListener.class)
 public class BlacklistedJwt {
 
     @Builder
@@ -0,0 +1,25 @@
+package com.personal.microart.persistence.entities;
+
+import jakarta.persistence.Embeddable;
+import lombok.*;
+
+/**
+ * Hexadecimal checksums of an artefact's content, calculated while the artefact is written to disk. Used to answer
+ * requests for checksum files, e.g. artefact.jar.sha1, without storing them separately.
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Getter
+@Setter(AccessLevel.PRIVATE)
+@Embeddable
+public class Checksums {
+
+    private String md5;
+
+    private String sha1;
+
+    private String sha256;
+
+    private String sha512;
+}
@@ -1,5 +1,6 @@
 package com.personal.microart.persistence.entities;
 
+import com.personal.microart.persistence.cache.UserCacheListener;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotEmpty;
@@ -15,6 +16,7 @@ import java.util.UUID;
 
 @Entity
 @Table(name = "users")
+@EntityListeners(UserCacheListener.class)
 @Getter
 @NoArgsConstructor
 public class MicroartUser {
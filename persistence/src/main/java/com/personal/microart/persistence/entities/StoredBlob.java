@@ -0,0 +1,51 @@
+package com.personal.microart.persistence.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A file stored by content when content-addressable storage is enabled, together with the number of artefacts that
+ * reference it. The count is changed in the same transaction as the artefacts, while the row is locked, so the file
+ * is deleted only after a count of zero is committed. The row of new content is inserted without a filename before its
+ * file is stored, so that it can be locked.
+ */
+@NoArgsConstructor
+@Setter(AccessLevel.PRIVATE)
+@Getter
+@Entity
+@Table(name = "stored_blobs")
+public class StoredBlob {
+
+    @Builder
+    public StoredBlob(String sha256, String filename) {
+        this.sha256 = sha256;
+        this.filename = filename;
+        this.referenceCount = 0L;
+    }
+
+    @Id
+    private String sha256;
+
+    private String filename;
+
+    private Long referenceCount;
+
+    /**
+     * Adds a reference to the file with the given name. The file replaces the stored one if it was stored anew,
+     * e.g. because the stored one was lost.
+     */
+    public StoredBlob acquire(String filename) {
+        this.filename = filename;
+        this.referenceCount++;
+        return this;
+    }
+
+    public StoredBlob release() {
+        this.referenceCount = Math.max(0L, this.referenceCount - 1);
+        return this;
+    }
+
+    public Boolean isReferenced() {
+        return this.referenceCount > 0;
+    }
+}
@@ -11,7 +11,9 @@ import java.util.*;
 @Setter(AccessLevel.PRIVATE)
 @Getter
 @Entity
-@Table(name = "vaults")
+@Table(name = "vaults", indexes = {
+        @Index(name = "idx_vaults_name", columnList = "name")
+})
 public class Vault {
 
     @Builder
@@ -43,6 +45,9 @@ public class Vault {
     private String name;
 
     @OneToMany(fetch = FetchType.EAGER)
+    @JoinTable(name = "vaults_artefacts",
+            joinColumns = @JoinColumn(name = "vault_id"),
+            inverseJoinColumns = @JoinColumn(name = "artefacts_id"))
     private List<Artefact> artefacts;
 
     public Boolean addArtefact(Artefact artefact) {
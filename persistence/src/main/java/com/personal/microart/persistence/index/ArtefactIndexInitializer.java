@@ -0,0 +1,29 @@
+package com.personal.microart.persistence.index;
+
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Loads the URIs of all stored artefacts into the {@link BrowseIndex} and the {@link SearchIndex} on startup. Kept apart
+ * from the indexes, since they are required by the {@link ArtefactIndexListener} while the persistence layer itself is
+ * being set up.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArtefactIndexInitializer {
+    private final ArtefactRepository artefactRepository;
+    private final BrowseIndex browseIndex;
+    private final SearchIndex searchIndex;
+
+    @PostConstruct
+    public void initialize() {
+        List<String> uris = this.artefactRepository.findAllUris();
+
+        this.browseIndex.addAll(uris);
+        this.searchIndex.addAll(uris);
+    }
+}
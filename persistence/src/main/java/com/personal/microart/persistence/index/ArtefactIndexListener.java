@@ -0,0 +1,53 @@
+package com.personal.microart.persistence.index;
+
+import com.personal.microart.persistence.entities.Artefact;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Entity listener of {@link Artefact} that keeps the {@link BrowseIndex} and the {@link SearchIndex} up to date.
+ * Changes made within a transaction are applied once it commits, so a rolled back upload never shows up while browsing
+ * or searching.
+ */
+@Component
+@RequiredArgsConstructor
+public class ArtefactIndexListener {
+    private final BrowseIndex browseIndex;
+    private final SearchIndex searchIndex;
+
+    @PostPersist
+    public void onPersist(Artefact artefact) {
+        String uri = artefact.getUri();
+        this.afterCommit(() -> {
+            this.browseIndex.add(uri);
+            this.searchIndex.add(uri);
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Artefact artefact) {
+        String uri = artefact.getUri();
+        this.afterCommit(() -> {
+            this.browseIndex.remove(uri);
+            this.searchIndex.remove(uri);
+        });
+    }
+
+    private void afterCommit(Runnable update) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            update.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                update.run();
+            }
+        });
+    }
+}
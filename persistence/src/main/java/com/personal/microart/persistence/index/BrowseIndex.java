@@ -0,0 +1,213 @@
+package com.personal.microart.persistence.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * An in-memory index of all artefact URIs, used for browsing. Holds a path trie per vault, e.g. the artefact
+ * /mvn/username/vaultName/com/test/test/0.0.1/test-0.0.1.jar is stored in the trie of username/vaultName under the
+ * path com/test/test/0.0.1/test-0.0.1.jar. Vaults are identified by owner and name, as vault names are only unique per
+ * owner. Listing the content of a directory costs O(depth + children) regardless of the
+ * total number of artefacts.
+ * <p>
+ * The index is kept up to date by the {@link ArtefactIndexListener} and is loaded from the database on startup by the
+ * {@link ArtefactIndexInitializer}. Vault visibility is not part of the index and is passed in with every lookup.
+ * Lookups do not block; updates of the same vault are serialized.
+ */
+@Component
+public class BrowseIndex {
+    private static final String MVN = "mvn";
+
+    /**
+     * The root of the trie of each vault, keyed by username/vaultName.
+     */
+    private final Map<String, Node> vaults = new ConcurrentHashMap<>();
+
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers a listener that is called with the username/vaultName of the vault after each change to its content.
+     */
+    public void addChangeListener(Consumer<String> changeListener) {
+        this.changeListeners.add(changeListener);
+    }
+
+    public void add(String uri) {
+        List<String> elements = getElements(uri);
+
+        if (elements.size() < 4 || !elements.get(0).equals(MVN)) {
+            return;
+        }
+
+        String vaultPath = getVaultPath(elements.get(1), elements.get(2));
+
+        this.vaults.compute(vaultPath, (key, root) -> {
+            Node vaultRoot = root == null ? new Node() : root;
+
+            Node node = vaultRoot;
+            for (String element : elements.subList(3, elements.size())) {
+                node = node.getChildren().computeIfAbsent(element, child -> new Node());
+            }
+
+            node.isArtefact = true;
+            return vaultRoot;
+        });
+
+        this.notifyChange(vaultPath);
+    }
+
+    public void addAll(Collection<String> uris) {
+        uris.forEach(this::add);
+    }
+
+    public void remove(String uri) {
+        List<String> elements = getElements(uri);
+
+        if (elements.size() < 4 || !elements.get(0).equals(MVN)) {
+            return;
+        }
+
+        String vaultPath = getVaultPath(elements.get(1), elements.get(2));
+
+        this.vaults.computeIfPresent(vaultPath, (key, root) -> {
+            this.remove(root, elements.subList(3, elements.size()));
+
+            return root.getChildren().isEmpty() ? null : root;
+        });
+
+        this.notifyChange(vaultPath);
+    }
+
+    /**
+     * Returns the direct children of the given /mvn URI that belong to one of the visible vaults, sorted by name. The
+     * root lists the owners of the visible vaults, the owner lists their visible vaults. The children are read lazily
+     * from the index, so only as many of them as are consumed are ever created.
+     *
+     * @param uri           the /mvn URI of the directory, e.g. /mvn/username/vaultName/com/test
+     * @param visibleVaults the vaults the current user is allowed to see, as username/vaultName
+     * @param after         if not null, only children whose names come after it are returned
+     */
+    public Stream<Entry> getChildren(String uri, Set<String> visibleVaults, String after) {
+        List<String> elements = getElements(uri);
+
+        if (elements.isEmpty() || !elements.get(0).equals(MVN)) {
+            return Stream.empty();
+        }
+
+        if (elements.size() == 1) {
+            return visibleVaults
+                    .stream()
+                    .filter(this.vaults::containsKey)
+                    .map(vaultPath -> vaultPath.substring(0, vaultPath.indexOf('/')))
+                    .filter(username -> after == null || username.compareTo(after) > 0)
+                    .distinct()
+                    .sorted()
+                    .map(username -> new Entry(username, true));
+        }
+
+        String username = elements.get(1);
+
+        if (elements.size() == 2) {
+            String ownerPrefix = getVaultPath(username, "");
+
+            return visibleVaults
+                    .stream()
+                    .filter(vaultPath -> vaultPath.startsWith(ownerPrefix) && this.vaults.containsKey(vaultPath))
+                    .map(vaultPath -> vaultPath.substring(ownerPrefix.length()))
+                    .filter(vaultName -> after == null || vaultName.compareTo(after) > 0)
+                    .sorted()
+                    .map(vaultName -> new Entry(vaultName, true));
+        }
+
+        String vaultPath = getVaultPath(username, elements.get(2));
+        Node node = visibleVaults.contains(vaultPath) ? this.vaults.get(vaultPath) : null;
+
+        if (node == null) {
+            return Stream.empty();
+        }
+
+        for (String element : elements.subList(3, elements.size())) {
+            node = node.getChildren().get(element);
+
+            if (node == null) {
+                return Stream.empty();
+            }
+        }
+
+        NavigableMap<String, Node> children = after == null
+                ? node.getChildren()
+                : node.getChildren().tailMap(after, false);
+
+        return children
+                .entrySet()
+                .stream()
+                .map(child -> new Entry(child.getKey(), !child.getValue().getChildren().isEmpty()));
+    }
+
+    /**
+     * Identifies a vault by its owner and name, e.g. username/vaultName
+     */
+    public static String getVaultPath(String username, String vaultName) {
+        return username + "/" + vaultName;
+    }
+
+    private void notifyChange(String vaultPath) {
+        this.changeListeners.forEach(changeListener -> changeListener.accept(vaultPath));
+    }
+
+    /**
+     * Removes the artefact at the given path and prunes the nodes that are left without children.
+     *
+     * @return true if the node is no longer needed
+     */
+    private Boolean remove(Node node, List<String> path) {
+        if (path.isEmpty()) {
+            node.isArtefact = false;
+            return node.getChildren().isEmpty();
+        }
+
+        Node child = node.getChildren().get(path.get(0));
+
+        if (child != null && this.remove(child, path.subList(1, path.size()))) {
+            node.getChildren().remove(path.get(0));
+        }
+
+        return !node.isArtefact && node.getChildren().isEmpty();
+    }
+
+    private static List<String> getElements(String uri) {
+        return Arrays.stream(uri.split("/"))
+                .filter(element -> !element.isBlank())
+                .toList();
+    }
+
+    /**
+     * A direct child of a browsed directory. A child is a directory if it has children of its own, otherwise it is
+     * an artefact.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private String name;
+        private Boolean isDirectory;
+    }
+
+    @Getter
+    private static class Node {
+        private final ConcurrentSkipListMap<String, Node> children = new ConcurrentSkipListMap<>();
+        private volatile boolean isArtefact;
+    }
+}
@@ -0,0 +1,56 @@
+package com.personal.microart.persistence.index;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.util.Comparator;
+
+/**
+ * The Maven coordinates of a version stored in a vault, e.g. com.test:test:0.0.1 in vaultName of username.
+ */
+@Getter
+@AllArgsConstructor
+@EqualsAndHashCode
+public class Coordinates implements Comparable<Coordinates> {
+    private static final Comparator<Coordinates> ORDER = Comparator
+            .comparing(Coordinates::getGroupId)
+            .thenComparing(Coordinates::getArtifactId)
+            .thenComparing(Coordinates::getVersion)
+            .thenComparing(Coordinates::getUsername)
+            .thenComparing(Coordinates::getVaultName);
+
+    private String username;
+    private String vaultName;
+    private String groupId;
+    private String artifactId;
+    private String version;
+
+    public String get(SearchIndex.Field field) {
+        return switch (field) {
+            case GROUP_ID -> this.groupId;
+            case ARTIFACT_ID -> this.artifactId;
+            case VERSION -> this.version;
+        };
+    }
+
+    /**
+     * Returns the owner and name of the vault, e.g. username/vaultName
+     */
+    public String getVaultPath() {
+        return this.username + "/" + this.vaultName;
+    }
+
+    /**
+     * Returns the /mvn URI of the directory that holds the files of the version, e.g.
+     * /mvn/username/vaultName/com/test/test/0.0.1
+     */
+    public String getUri() {
+        return String.join("/", "/mvn", this.username, this.vaultName, this.groupId.replace('.', '/'), this.artifactId, this.version);
+    }
+
+    @Override
+    public int compareTo(Coordinates o) {
+        return ORDER.compare(this, o);
+    }
+}
@@ -0,0 +1,203 @@
+package com.personal.microart.persistence.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * An in-memory inverted index of the Maven coordinates of all stored artefacts, used for searching. The coordinates
+ * are derived from the artefact URI, e.g. /mvn/username/vaultName/com/test/test/0.0.1/test-0.0.1.jar is version 0.0.1
+ * of com.test:test in vaultName. maven-metadata.xml files are not indexed.
+ * <p>
+ * Every groupId, artifactId and version is indexed by its trigrams, so a case-insensitive substring, and therefore
+ * prefix, match only has to check the coordinates that share the rarest trigram of the query. Queries shorter than a
+ * trigram are matched against the distinct values of the field instead. The index is kept up to date like the
+ * {@link BrowseIndex}. Lookups do not block; updates are serialized.
+ */
+@Component
+public class SearchIndex {
+    private static final int GRAM_SIZE = 3;
+    private static final String MVN = "mvn";
+    private static final String MAVEN_METADATA = "maven-metadata";
+
+    public enum Field {
+        GROUP_ID, ARTIFACT_ID, VERSION
+    }
+
+    /**
+     * The number of indexed files per coordinates. Coordinates are removed from the index with their last file.
+     */
+    private final Map<Coordinates, Integer> fileCounts = new HashMap<>();
+
+    private final Map<Field, Map<String, Set<Coordinates>>> grams = new EnumMap<>(Field.class);
+    private final Map<Field, Map<String, Set<Coordinates>>> values = new EnumMap<>(Field.class);
+
+    public SearchIndex() {
+        for (Field field : Field.values()) {
+            this.grams.put(field, new ConcurrentHashMap<>());
+            this.values.put(field, new ConcurrentHashMap<>());
+        }
+    }
+
+    public synchronized void add(String uri) {
+        this.getCoordinates(uri).ifPresent(coordinates -> {
+            if (this.fileCounts.merge(coordinates, 1, Integer::sum) > 1) {
+                return;
+            }
+
+            for (Field field : Field.values()) {
+                String value = normalize(coordinates.get(field));
+
+                this.values.get(field).computeIfAbsent(value, key -> ConcurrentHashMap.newKeySet()).add(coordinates);
+                getGrams(value).forEach(gram -> this.grams.get(field).computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(coordinates));
+            }
+        });
+    }
+
+    public void addAll(Collection<String> uris) {
+        uris.forEach(this::add);
+    }
+
+    public synchronized void remove(String uri) {
+        this.getCoordinates(uri).ifPresent(coordinates -> {
+            if (!this.fileCounts.containsKey(coordinates) || this.fileCounts.merge(coordinates, -1, Integer::sum) > 0) {
+                return;
+            }
+
+            this.fileCounts.remove(coordinates);
+
+            for (Field field : Field.values()) {
+                String value = normalize(coordinates.get(field));
+
+                removeFrom(this.values.get(field), value, coordinates);
+                getGrams(value).forEach(gram -> removeFrom(this.grams.get(field), gram, coordinates));
+            }
+        });
+    }
+
+    /**
+     * Returns the coordinates in one of the visible vaults whose fields contain all the given values, ignoring case,
+     * sorted by groupId, artifactId and version.
+     *
+     * @param query         the values to look for per field, at least one
+     * @param visibleVaults the vaults the current user is allowed to see, as username/vaultName
+     * @param limit         the maximum number of coordinates to return
+     */
+    public List<Coordinates> search(Map<Field, String> query, Set<String> visibleVaults, int limit) {
+        Map<Field, String> normalizedQuery = query.entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> normalize(entry.getValue())));
+
+        Collection<Coordinates> candidates = this.getCandidates(normalizedQuery);
+
+        PriorityQueue<Coordinates> results = new PriorityQueue<>(Comparator.reverseOrder());
+
+        for (Coordinates coordinates : candidates) {
+            if (!visibleVaults.contains(coordinates.getVaultPath()) || !this.matches(coordinates, normalizedQuery)) {
+                continue;
+            }
+
+            results.add(coordinates);
+
+            if (results.size() > limit) {
+                results.poll();
+            }
+        }
+
+        return results.stream().sorted().toList();
+    }
+
+    /**
+     * Returns a superset of the matching coordinates: the ones sharing the rarest trigram of the longest queries, or,
+     * if all queries are shorter than a trigram, the ones whose value contains the query.
+     */
+    private Collection<Coordinates> getCandidates(Map<Field, String> query) {
+        Optional<Set<Coordinates>> rarestGram = query.entrySet()
+                .stream()
+                .filter(entry -> entry.getValue().length() >= GRAM_SIZE)
+                .flatMap(entry -> getGrams(entry.getValue())
+                        .stream()
+                        .map(gram -> this.grams.get(entry.getKey()).getOrDefault(gram, Collections.emptySet())))
+                .min(Comparator.comparingInt(Set::size));
+
+        if (rarestGram.isPresent()) {
+            return rarestGram.get();
+        }
+
+        Map.Entry<Field, String> shortQuery = query.entrySet().iterator().next();
+
+        return this.values.get(shortQuery.getKey())
+                .entrySet()
+                .stream()
+                .filter(entry -> entry.getKey().contains(shortQuery.getValue()))
+                .flatMap(entry -> entry.getValue().stream())
+                .toList();
+    }
+
+    private boolean matches(Coordinates coordinates, Map<Field, String> query) {
+        return query.entrySet()
+                .stream()
+                .allMatch(entry -> normalize(coordinates.get(entry.getKey())).contains(entry.getValue()));
+    }
+
+    /**
+     * Derives the coordinates from the URI of an artefact. Returns empty for metadata files and URIs that are too short
+     * to hold a groupId, artifactId, version and filename.
+     */
+    private Optional<Coordinates> getCoordinates(String uri) {
+        List<String> elements = Arrays.stream(uri.split("/"))
+                .filter(element -> !element.isBlank())
+                .toList();
+
+        if (elements.size() < 7 || !elements.get(0).equals(MVN) || elements.get(elements.size() - 1).startsWith(MAVEN_METADATA)) {
+            return Optional.empty();
+        }
+
+        int versionIndex = elements.size() - 2;
+
+        return Optional.of(new Coordinates(
+                elements.get(1),
+                elements.get(2),
+                String.join(".", elements.subList(3, versionIndex - 1)),
+                elements.get(versionIndex - 1),
+                elements.get(versionIndex)));
+    }
+
+    private static Set<String> getGrams(String value) {
+        return IntStream.rangeClosed(0, value.length() - GRAM_SIZE)
+                .mapToObj(start -> value.substring(start, start + GRAM_SIZE))
+                .collect(Collectors.toSet());
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static void removeFrom(Map<String, Set<Coordinates>> postings, String key, Coordinates coordinates) {
+        Set<Coordinates> posting = postings.get(key);
+
+        if (posting == null) {
+            return;
+        }
+
+        posting.remove(coordinates);
+
+        if (posting.isEmpty()) {
+            postings.remove(key);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.personal.microart.persistence.repositories;
 
 import com.personal.microart.persistence.entities.Artefact;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -16,10 +17,21 @@ public interface ArtefactRepository extends JpaRepository<Artefact, UUID> {
 
     List<Artefact> findArtefactByFilenameStartingWith(String startsWith);
 
-    Set<Artefact> findArtefactByUriStartingWith(String uri);
+    Set<Artefact> findAllByParentPath(String parentPath);
+
+    List<Artefact> findTop1000ByParentPathIsNull();
+
+    List<Artefact> findTop1000BySizeIsNullOrderById();
+
+    List<Artefact> findTop1000BySizeIsNullAndIdGreaterThanOrderById(UUID id);
 
     Set<Artefact> findAllByFilename(String filename);
 
     Integer deleteAllByFilename(String filename);
 
+    Boolean existsByFilename(String filename);
+
+    @Query("select a.uri from Artefact a")
+    List<String> findAllUris();
+
 }
@@ -1,14 +1,21 @@
 package com.personal.microart.persistence.repositories;
 
-import com.personal.microart.persistence.entities.Artefact;
 import com.personal.microart.persistence.entities.BlacklistedJwt;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
 
 public interface BlacklistedJwtRepository extends JpaRepository<BlacklistedJwt, UUID> {
     Boolean existsByToken(String jwt);
+
+    List<BlacklistedJwt> findAllByValidityAfter(LocalDateTime validity);
+
+    @Modifying
+    @Query("delete from BlacklistedJwt j where j.validity < :validity")
+    Integer deleteAllByValidityBefore(@Param("validity") LocalDateTime validity);
 }
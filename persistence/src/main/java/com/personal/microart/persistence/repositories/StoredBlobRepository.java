@@ -0,0 +1,24 @@
+package com.personal.microart.persistence.repositories;
+
+import com.personal.microart.persistence.entities.StoredBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<StoredBlob> findLockedBySha256(String sha256);
+
+    /**
+     * Inserts a row without references. Fails if the row already exists, unlike save, which would overwrite its count.
+     */
+    @Modifying
+    @Query(value = "insert into stored_blobs (sha256, reference_count) values (:sha256, 0)", nativeQuery = true)
+    void insert(@Param("sha256") String sha256);
+}
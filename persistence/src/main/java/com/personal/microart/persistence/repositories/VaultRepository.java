@@ -3,6 +3,9 @@ package com.personal.microart.persistence.repositories;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.Vault;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.Optional;
 import java.util.Set;
@@ -14,9 +17,32 @@ public interface VaultRepository extends JpaRepository<Vault, UUID> {
 
     Boolean existsByNameAndOwner(String name, MicroartUser owner);
 
-    Set<Vault> findAllByIsPublicTrue();
+    @Query("select v.isPublic from Vault v where v.name = :name")
+    Optional<Boolean> findIsPublicByName(@Param("name") String name);
 
-    Set<Vault> findAllByAuthorizedUsersContainingOrIsPublicTrue(MicroartUser user);
+    Boolean existsByNameAndAuthorizedUsersId(String name, UUID userId);
+
+    @Query("select v.id from Vault v where v.name = :name")
+    Optional<UUID> findIdByName(@Param("name") String name);
+
+    /**
+     * Links an artefact to a vault without loading the vault and its artefacts.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "insert into vaults_artefacts (vault_id, artefacts_id) values (:vaultId, :artefactId)", nativeQuery = true)
+    void addArtefact(@Param("vaultId") UUID vaultId, @Param("artefactId") UUID artefactId);
+
+    /**
+     * Returns the public vaults as username/vaultName, as vault names are only unique per owner.
+     */
+    @Query("select concat(v.owner.username, '/', v.name) from Vault v where v.isPublic = true")
+    Set<String> findAllPublicVaultPaths();
+
+    /**
+     * Returns the vaults the user can see as username/vaultName, as vault names are only unique per owner.
+     */
+    @Query("select distinct concat(v.owner.username, '/', v.name) from Vault v left join v.authorizedUsers u where v.isPublic = true or u.username = :username")
+    Set<String> findAllVisibleVaultPaths(@Param("username") String username);
 
     Optional<Vault> findVaultByNameAndOwner(String name, MicroartUser owner);
 }
@@ -0,0 +1,110 @@
+package com.personal.microart.persistence.schema;
+
+import com.personal.microart.persistence.directorymanager.FileDeleter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Removes artefacts that share a URI before Hibernate updates the schema. The unique index on the URI of the artefacts
+ * table is only created by ddl-auto=update, which logs a failed statement and carries on - on a database that already
+ * holds duplicates the index would be silently missing. For each duplicated URI the most recently uploaded artefact is
+ * kept, the older ones are unlinked from their vault and deleted. Does nothing on a new database, where the artefacts
+ * table does not exist yet.
+ * <p>
+ * All rows are removed in a single transaction, which also drops the references of the removed artefacts from the
+ * reference counts of content-addressed files. The persistence layer is not available yet at that point, so the files
+ * themselves are deleted by the {@link FileDeleter} once the application is ready, unless something still references
+ * them.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ArtefactUriDeduplicator {
+    private final DataSource dataSource;
+    private final ObjectProvider<FileDeleter> fileDeleter;
+
+    private final List<String> removedFiles = new ArrayList<>();
+
+    @PostConstruct
+    public void deduplicate() {
+        if (!this.isTablePresent("artefacts")) {
+            return;
+        }
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(this.dataSource);
+        List<String> duplicatedUris = jdbcTemplate.queryForList(
+                "select uri from artefacts where uri is not null group by uri having count(*) > 1", String.class);
+
+        if (duplicatedUris.isEmpty()) {
+            return;
+        }
+
+        boolean hasReferenceCounts = this.isTablePresent("stored_blobs");
+        List<String> removedFiles = new ArrayList<>();
+        AtomicInteger removedArtefacts = new AtomicInteger();
+
+        new TransactionTemplate(new DataSourceTransactionManager(this.dataSource)).executeWithoutResult(status -> {
+            for (String uri : duplicatedUris) {
+                List<Map<String, Object>> artefacts = jdbcTemplate.queryForList(
+                        "select id, filename from artefacts where uri = ? order by timestamp desc, id desc", uri);
+
+                for (Map<String, Object> artefact : artefacts.subList(1, artefacts.size())) {
+                    String filename = (String) artefact.get("filename");
+
+                    jdbcTemplate.update("delete from vaults_artefacts where artefacts_id = ?", artefact.get("id"));
+                    removedArtefacts.addAndGet(jdbcTemplate.update("delete from artefacts where id = ?", artefact.get("id")));
+
+                    if (filename == null) {
+                        continue;
+                    }
+
+                    if (hasReferenceCounts) {
+                        jdbcTemplate.update("update stored_blobs set reference_count = reference_count - 1 where sha256 = ? and filename = ? and reference_count > 0",
+                                Path.of(filename).getFileName().toString(), filename);
+                    }
+
+                    removedFiles.add(filename);
+                }
+            }
+        });
+
+        this.removedFiles.addAll(removedFiles);
+        log.warn("Removed {} artefacts with a duplicate URI, kept the latest upload of {} URIs", removedArtefacts.get(), duplicatedUris.size());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void deleteRemovedFiles() {
+        this.removedFiles.forEach(this.fileDeleter.getObject()::deleteIfUnreferenced);
+        this.removedFiles.clear();
+    }
+
+    @SneakyThrows
+    private boolean isTablePresent(String name) {
+        return Boolean.TRUE.equals(JdbcUtils.extractDatabaseMetaData(this.dataSource, metaData -> {
+            String tableName = metaData.storesUpperCaseIdentifiers() ? name.toUpperCase(Locale.ROOT) : name;
+
+            try (ResultSet tables = metaData.getTables(metaData.getConnection().getCatalog(), null, tableName, null)) {
+                return tables.next();
+            }
+        }));
+    }
+}
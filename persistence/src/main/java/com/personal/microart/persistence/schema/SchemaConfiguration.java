@@ -0,0 +1,18 @@
+package com.personal.microart.persistence.schema;
+
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchemaConfiguration {
+
+    /**
+     * Hibernate updates the schema while the entity manager factory is created, so the duplicates have to be gone by
+     * then.
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor artefactUriDeduplicatorDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(ArtefactUriDeduplicator.class);
+    }
+}
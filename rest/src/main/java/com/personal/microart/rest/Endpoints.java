@@ -4,10 +4,15 @@ public class Endpoints {
     public final static String BROWSE = "/browse";
     public final static String BROWSE_FILES = BROWSE + "/**";
 
+    public final static String SEARCH = "/search";
+
     public final static String FILE = "/mvn";
     public final static String FILE_DOWNLOAD = FILE + "/**";
     public final static String FILE_UPLOAD = FILE + "/**";
 
+    public final static String BUNDLE = "/bundle";
+    public final static String BUNDLE_UPLOAD = BUNDLE + "/*/*";
+
     public final static String TEST = "/test";
     public final static String TEST_JWT = TEST + "/jwt-auth";
 
@@ -18,7 +18,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 @EnableMethodSecurity
 public class MicroartApplication {
 
-    //TODO: limit the number of requests to the server - max 100 requests per minute
     public static void main(String[] args) {
         SpringApplication.run(MicroartApplication.class, args);
     }
@@ -0,0 +1,97 @@
+package com.personal.microart.rest.auth;
+
+import com.personal.microart.api.errors.ServerBusyError;
+import com.personal.microart.core.auth.base.FilterCore;
+import com.personal.microart.core.auth.basic.BasicAuthFilterCore;
+import com.personal.microart.core.auth.jwt.JwtAuthFilterCore;
+import com.personal.microart.rest.auth.base.ProtectedEndpointRouter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The only authentication filter of the application. Inspects the scheme of the Authorization header once and
+ * dispatches the request to the matching {@link FilterCore} - Basic for Maven uploads and downloads, Bearer (JWT) for
+ * the front-end. Schemes are matched case-insensitively. Requests without credentials, or with an unknown scheme, are not passed to any filter core and never
+ * touch the database. If the password of Basic credentials cannot be verified because the server is busy hashing
+ * other passwords, the filter returns 503 with a Retry-After header. If the request is for a protected endpoint and the user is not authenticated, the filter returns
+ * a 403 Forbidden response. Otherwise, it sets the Authentication object in the SecurityContextHolder and calls the
+ * next filter in the chain.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AuthenticationFilter extends OncePerRequestFilter {
+    private static final String BASIC_SCHEME = "Basic ";
+    private static final String BEARER_SCHEME = "Bearer ";
+
+    private final BasicAuthFilterCore basicAuthFilterCore;
+    private final JwtAuthFilterCore jwtAuthFilterCore;
+    private final ProtectedEndpointRouter router;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+
+        Authentication authentication;
+
+        try {
+            authentication = this.getFilterCore(request)
+                    .map(filterCore -> filterCore.getAuthentication(request))
+                    .orElseGet(() -> SecurityContextHolder.getContext().getAuthentication());
+        } catch (RejectedExecutionException exception) {
+            ServerBusyError error = ServerBusyError.fromThrowable(exception);
+
+            response.setStatus(error.getStatusCode());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(error.getRetryAfterSeconds()));
+            return;
+        }
+
+        Boolean isProtectedEndpoint = this.router.isProtected(request);
+        Boolean isAnonymousUser = authentication instanceof AnonymousAuthenticationToken;
+
+        if (isProtectedEndpoint && isAnonymousUser) {
+            log.debug("Denied anonymous access to {} {}", request.getMethod(), request.getRequestURI());
+            response.setContentType(MediaType.TEXT_HTML_VALUE);
+            response.setStatus(HttpStatus.FORBIDDEN.value());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            return;
+        }
+
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        filterChain.doFilter(request, response);
+    }
+
+    private Optional<FilterCore> getFilterCore(HttpServletRequest request) {
+        String rawHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (rawHeader == null) {
+            return Optional.empty();
+        }
+
+        if (rawHeader.regionMatches(true, 0, BASIC_SCHEME, 0, BASIC_SCHEME.length())) {
+            return Optional.of(this.basicAuthFilterCore);
+        }
+
+        if (rawHeader.regionMatches(true, 0, BEARER_SCHEME, 0, BEARER_SCHEME.length())) {
+            return Optional.of(this.jwtAuthFilterCore);
+        }
+
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,92 @@
+package com.personal.microart.rest.auth.base;
+
+import com.personal.microart.core.auth.base.AuthenticationType;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.AllArgsConstructor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Decides whether a request is for a protected endpoint, and which authentication schemes protect it. The patterns of
+ * all {@link ProtectedEndpoints} are compiled into {@link PathPattern PathPatterns} once on startup and grouped by HTTP
+ * method. A request is classified only once - the result is stored in a request attribute and reused by later checks.
+ * Requests with a method that has no protected endpoints, e.g. OPTIONS, are not protected.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProtectedEndpointRouter {
+    private static final String PROTECTION_ATTRIBUTE = ProtectedEndpointRouter.class.getName() + ".protection";
+
+    private final List<ProtectedEndpoints> protectedEndpoints;
+
+    private final Map<HttpMethod, List<Route>> routes = new HashMap<>();
+
+    @PostConstruct
+    private void init() {
+        PathPatternParser parser = new PathPatternParser();
+
+        this.protectedEndpoints.forEach(endpoints -> endpoints.getProtectedEndpoints()
+                .forEach((method, patterns) -> patterns.forEach(pattern -> this.routes
+                        .computeIfAbsent(method, ignored -> new ArrayList<>())
+                        .add(new Route(parser.parse(pattern), endpoints.getAuthenticationType())))));
+    }
+
+    /**
+     * Checks whether the request must be authenticated with any authentication scheme.
+     *
+     * @param request The HTTP request to check.
+     * @return True if the endpoint is protected, false otherwise.
+     */
+    public Boolean isProtected(HttpServletRequest request) {
+        return !this.getProtection(request).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Set<AuthenticationType> getProtection(HttpServletRequest request) {
+        Object cached = request.getAttribute(PROTECTION_ATTRIBUTE);
+
+        if (cached instanceof Set<?>) {
+            return (Set<AuthenticationType>) cached;
+        }
+
+        Set<AuthenticationType> protection = this.classify(request);
+        request.setAttribute(PROTECTION_ATTRIBUTE, protection);
+
+        return protection;
+    }
+
+    private Set<AuthenticationType> classify(HttpServletRequest request) {
+        List<Route> methodRoutes = this.routes.get(HttpMethod.valueOf(request.getMethod().toUpperCase()));
+        Set<AuthenticationType> protection = EnumSet.noneOf(AuthenticationType.class);
+
+        if (methodRoutes == null) {
+            return protection;
+        }
+
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+
+        methodRoutes.stream()
+                .filter(route -> route.pattern.matches(path))
+                .forEach(route -> protection.add(route.authenticationType));
+
+        return protection;
+    }
+
+    @AllArgsConstructor
+    private static class Route {
+        private final PathPattern pattern;
+        private final AuthenticationType authenticationType;
+    }
+}
@@ -1,5 +1,6 @@
 package com.personal.microart.rest.auth.base;
 
+import com.personal.microart.core.auth.base.AuthenticationType;
 import org.springframework.http.HttpMethod;
 
 import java.util.List;
@@ -10,7 +11,7 @@ import java.util.Map;
  */
 public interface ProtectedEndpoints {
     /**
-     * Returns a map of the protected endpoints and their respective HTTP methods. Values are Ant matcher patterns.
+     * Returns a map of the protected endpoints and their respective HTTP methods. Values are {@link org.springframework.web.util.pattern.PathPattern PathPattern} patterns.
      * A valid example of a protected
      * endpoints map is:
      * <pre>
@@ -28,4 +29,9 @@ public interface ProtectedEndpoints {
      */
 
     Map<HttpMethod, List<String>> getProtectedEndpoints();
+
+    /**
+     * Returns the authentication scheme which protects the endpoints.
+     */
+    AuthenticationType getAuthenticationType();
 }
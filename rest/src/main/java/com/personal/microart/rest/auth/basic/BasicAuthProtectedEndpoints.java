@@ -1,5 +1,6 @@
 package com.personal.microart.rest.auth.basic;
 
+import com.personal.microart.core.auth.base.AuthenticationType;
 import com.personal.microart.rest.auth.base.ProtectedEndpoints;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
@@ -11,8 +12,9 @@ import java.util.Map;
 public class BasicAuthProtectedEndpoints implements ProtectedEndpoints {
 
     private final List<String> protectedGet = List.of("/mvn/**");
+    private final List<String> protectedHead = List.of("/mvn/**");
     private final List<String> protectedPost = List.of();
-    private final List<String> protectedPut = List.of("/mvn/**");
+    private final List<String> protectedPut = List.of("/mvn/**", "/bundle/**");
     private final List<String> protectedDelete = List.of();
     private final List<String> protectedPatch = List.of();
 
@@ -20,10 +22,16 @@ public class BasicAuthProtectedEndpoints implements ProtectedEndpoints {
     public Map<HttpMethod, List<String>> getProtectedEndpoints() {
         return Map.of(
                 HttpMethod.GET, protectedGet,
+                HttpMethod.HEAD, protectedHead,
                 HttpMethod.POST, protectedPost,
                 HttpMethod.PUT, protectedPut,
                 HttpMethod.DELETE, protectedDelete,
                 HttpMethod.PATCH, protectedPatch
         );
     }
+
+    @Override
+    public AuthenticationType getAuthenticationType() {
+        return AuthenticationType.BASIC;
+    }
 }
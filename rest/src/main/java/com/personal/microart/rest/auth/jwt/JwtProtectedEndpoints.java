@@ -1,5 +1,6 @@
 package com.personal.microart.rest.auth.jwt;
 
+import com.personal.microart.core.auth.base.AuthenticationType;
 import com.personal.microart.rest.auth.base.ProtectedEndpoints;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
@@ -11,6 +12,7 @@ import java.util.Map;
 public class JwtProtectedEndpoints implements ProtectedEndpoints {
 
     private final List<String> protectedGet = List.of("/browse/**","/test/**");
+    private final List<String> protectedHead = List.of("/browse/**","/test/**");
     private final List<String> protectedPost = List.of();
     private final List<String> protectedPut = List.of();
     private final List<String> protectedDelete = List.of();
@@ -20,10 +22,16 @@ public class JwtProtectedEndpoints implements ProtectedEndpoints {
     public Map<HttpMethod, List<String>> getProtectedEndpoints() {
         return Map.of(
                 HttpMethod.GET, protectedGet,
+                HttpMethod.HEAD, protectedHead,
                 HttpMethod.POST, protectedPost,
                 HttpMethod.PUT, protectedPut,
                 HttpMethod.DELETE, protectedDelete,
                 HttpMethod.PATCH, protectedPatch
         );
     }
+
+    @Override
+    public AuthenticationType getAuthenticationType() {
+        return AuthenticationType.JWT;
+    }
 }
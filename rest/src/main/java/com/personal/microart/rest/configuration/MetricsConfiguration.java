@@ -0,0 +1,72 @@
+package com.personal.microart.rest.configuration;
+
+import com.personal.microart.core.auth.BoundedPasswordEncoder;
+import com.personal.microart.core.processor.browse.BrowseCache;
+import com.personal.microart.persistence.cache.ArtefactCache;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publishes the internal counters of the application as Micrometer meters, available under /actuator/metrics to logged in users.
+ */
+@Configuration
+public class MetricsConfiguration {
+
+    @Bean
+    public MeterBinder artefactCacheMetrics(ArtefactCache artefactCache) {
+        return registry -> {
+            FunctionCounter.builder("artefact.cache.hits", artefactCache, cache -> cache.getStatistics().getHits())
+                    .register(registry);
+            FunctionCounter.builder("artefact.cache.misses", artefactCache, cache -> cache.getStatistics().getMisses())
+                    .register(registry);
+            FunctionCounter.builder("artefact.cache.evictions", artefactCache, cache -> cache.getStatistics().getEvictions())
+                    .register(registry);
+            FunctionCounter.builder("artefact.cache.rejections", artefactCache, cache -> cache.getStatistics().getRejections())
+                    .register(registry);
+            Gauge.builder("artefact.cache.entries", artefactCache, cache -> cache.getStatistics().getEntries())
+                    .register(registry);
+            Gauge.builder("artefact.cache.size", artefactCache, cache -> cache.getStatistics().getWeightBytes())
+                    .baseUnit("bytes")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder browseCacheMetrics(BrowseCache browseCache) {
+        return registry -> {
+            FunctionCounter.builder("browse.cache.hits", browseCache, cache -> cache.getStatistics().getHits())
+                    .register(registry);
+            FunctionCounter.builder("browse.cache.misses", browseCache, cache -> cache.getStatistics().getMisses())
+                    .register(registry);
+            FunctionCounter.builder("browse.cache.evictions", browseCache, cache -> cache.getStatistics().getEvictions())
+                    .register(registry);
+            FunctionCounter.builder("browse.cache.invalidations", browseCache, cache -> cache.getStatistics().getInvalidations())
+                    .register(registry);
+            Gauge.builder("browse.cache.entries", browseCache, cache -> cache.getStatistics().getEntries())
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder passwordEncoderMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            FunctionTimer.builder("password.hashing", passwordEncoder,
+                            encoder -> encoder.getStatistics().getCompleted(),
+                            encoder -> encoder.getStatistics().getTotalTimeNanos(),
+                            TimeUnit.NANOSECONDS)
+                    .register(registry);
+            FunctionCounter.builder("password.hashing.rejections", passwordEncoder, encoder -> encoder.getStatistics().getRejections())
+                    .register(registry);
+            Gauge.builder("password.hashing.queue", passwordEncoder, encoder -> encoder.getStatistics().getQueued())
+                    .register(registry);
+            Gauge.builder("password.hashing.active", passwordEncoder, encoder -> encoder.getStatistics().getActive())
+                    .register(registry);
+        };
+    }
+}
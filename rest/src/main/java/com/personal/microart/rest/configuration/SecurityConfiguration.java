@@ -1,7 +1,8 @@
 package com.personal.microart.rest.configuration;
 
-import com.personal.microart.rest.auth.basic.BasicAuthFilter;
-import com.personal.microart.rest.auth.jwt.JwtAuthFilter;
+import com.personal.microart.rest.auth.AuthenticationFilter;
+import com.personal.microart.rest.ratelimit.ClientRateLimitFilter;
+import com.personal.microart.rest.ratelimit.UserRateLimitFilter;
 import lombok.RequiredArgsConstructor;
 import lombok.SneakyThrows;
 import org.springframework.context.annotation.Bean;
@@ -17,16 +18,20 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 @RequiredArgsConstructor
 @EnableWebSecurity(debug = true) //TODO remove
 public class SecurityConfiguration {
-    private final JwtAuthFilter jwtAuthFilter;
-    private final BasicAuthFilter basicAuthFilter;
+    private final AuthenticationFilter authenticationFilter;
+    private final ClientRateLimitFilter clientRateLimitFilter;
+    private final UserRateLimitFilter userRateLimitFilter;
 
     @Bean
     @SneakyThrows
     public SecurityFilterChain securityFilterChain(HttpSecurity httpSecurity){
         return httpSecurity
-                .addFilterBefore(basicAuthFilter, UsernamePasswordAuthenticationFilter.class)
-                .addFilterBefore(jwtAuthFilter, BasicAuthFilter.class)
-                .authorizeHttpRequests(customizer -> customizer.requestMatchers("/**").permitAll())
+                .addFilterBefore(authenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(clientRateLimitFilter, AuthenticationFilter.class)
+                .addFilterAfter(userRateLimitFilter, AuthenticationFilter.class)
+                .authorizeHttpRequests(customizer -> customizer
+                        .requestMatchers("/actuator/metrics/**").authenticated()
+                        .requestMatchers("/**").permitAll())
                 .cors(AbstractHttpConfigurer::disable) //TODO: enable and properly configure
                 .csrf(AbstractHttpConfigurer::disable)
                 .sessionManagement(c -> c.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
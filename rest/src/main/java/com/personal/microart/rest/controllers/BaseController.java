@@ -1,18 +1,42 @@
 package com.personal.microart.rest.controllers;
 
 import com.personal.microart.api.errors.ApiError;
+import com.personal.microart.api.errors.ServerBusyError;
+import com.personal.microart.api.errors.ServiceUnavailableError;
 import com.personal.microart.api.operations.file.download.DownloadFileResult;
 import io.undertow.server.HttpServerExchange;
+import io.undertow.servlet.handlers.ServletRequestContext;
+import io.undertow.servlet.spec.ServletOutputStreamImpl;
 import io.vavr.control.Either;
+import io.vavr.control.Try;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.Setter;
 import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Base class for all controllers. It provides a common error handling mechanism for all controllers. Provides a
@@ -36,16 +60,252 @@ public abstract class BaseController {
     }
 
     /**
-     * Handles the result of the file upload and download operations. Sets the filename and content disposition as a response header.
+     * Handles the result of the file download operation. Sets the filename, content disposition and content length as
+     * response headers and streams the file straight from disk to the response, so the file is never held in memory.
+     * Small files that are already cached are written from their cached content instead.
+     * Answers conditional requests with 304 Not Modified based on the ETag and Last-Modified date of the file, before
+     * the file is opened. Supports single and multiple byte ranges as per RFC 9110, including {@code If-Range}
+     * validation.
      */
-    public ResponseEntity<byte[]> handleMvn(Either<ApiError, DownloadFileResult> processorResult, HttpServletResponse response) {
+    public void handleMvn(Either<ApiError, DownloadFileResult> processorResult, HttpServletRequest request, HttpServletResponse response) throws IOException {
         if (processorResult.isLeft()) {
-            return this.handleMvnError(processorResult, response);
+            this.handleMvnError(processorResult.getLeft(), response);
+            return;
         }
 
-        response.setHeader("Content-Disposition", "attachment; filename=" + processorResult.get().getFilename());
+        DownloadFileResult result = processorResult.get();
 
-        return new ResponseEntity<>(processorResult.get().getContent(), HttpStatus.OK);
+        if (new ServletWebRequest(request, response).checkNotModified(result.getEtag(), result.getLastModified().toEpochMilli())) {
+            return;
+        }
+
+        if (result.getContent() != null) {
+            this.writeBody((outputStream, position, count) -> this.transfer(result.getContent(), position, count, outputStream), result, request, response);
+            return;
+        }
+
+        Try<FileChannel> openedChannel = Try.of(() -> FileChannel.open(result.getFile(), StandardOpenOption.READ));
+
+        if (openedChannel.isFailure()) {
+            this.handleMvnError(ServiceUnavailableError.builder().build(), response);
+            return;
+        }
+
+        try (FileChannel channel = openedChannel.get()) {
+            this.writeBody((outputStream, position, count) -> this.transfer(channel, position, count, outputStream), result, request, response);
+        }
+    }
+
+    /**
+     * Handles the result of the file download operation for HEAD requests. Sends the same headers as a download would,
+     * using only the metadata of the file, so the file itself is never opened.
+     */
+    public void handleMvnHead(Either<ApiError, DownloadFileResult> processorResult, HttpServletRequest request, HttpServletResponse response) {
+        if (processorResult.isLeft()) {
+            this.handleMvnError(processorResult.getLeft(), response);
+            return;
+        }
+
+        DownloadFileResult result = processorResult.get();
+
+        if (new ServletWebRequest(request, response).checkNotModified(result.getEtag(), result.getLastModified().toEpochMilli())) {
+            return;
+        }
+
+        this.setMvnHeaders(result, response);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(result.getSize());
+    }
+
+    private void setMvnHeaders(DownloadFileResult result, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + result.getFilename());
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+
+        Optional.ofNullable(result.getChecksums())
+                .ifPresent(checksums -> checksums.forEach((algorithm, checksum) ->
+                        response.setHeader("X-Checksum-" + StringUtils.capitalize(algorithm), checksum)));
+    }
+
+    private void writeBody(BodySource source, DownloadFileResult result, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        this.setMvnHeaders(result, response);
+
+        Optional<List<ByteRange>> ranges = this.getRequestedRanges(request, result);
+
+        if (ranges.isEmpty()) {
+            this.writeFull(source, result, response);
+        } else if (ranges.get().isEmpty()) {
+            this.writeRangeNotSatisfiable(result, response);
+        } else if (ranges.get().size() == 1) {
+            this.writeRange(source, result, ranges.get().get(0), response);
+        } else {
+            this.writeRanges(source, result, ranges.get(), response);
+        }
+    }
+
+    /**
+     * Resolves the byte ranges requested by the client against the size of the file. Returns an empty optional when
+     * the full file should be sent, i.e. there is no Range header, it is malformed, the ranges together are larger
+     * than the file or the If-Range validator does not match. Returns an empty list when none of the requested ranges
+     * can be satisfied.
+     */
+    private Optional<List<ByteRange>> getRequestedRanges(HttpServletRequest request, DownloadFileResult result) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+        if (rangeHeader == null || result.getSize() == 0 || !this.isRangeApplicable(request, result)) {
+            return Optional.empty();
+        }
+
+        return Try.of(() -> HttpRange.parseRanges(rangeHeader))
+                .map(httpRanges -> httpRanges
+                        .stream()
+                        .flatMap(httpRange -> Try.of(() -> new ByteRange(httpRange.getRangeStart(result.getSize()), httpRange.getRangeEnd(result.getSize())))
+                                .filter(range -> range.getStart() <= range.getEnd())
+                                .toJavaStream())
+                        .toList())
+                .filter(ranges -> ranges.stream().mapToLong(ByteRange::getLength).sum() <= result.getSize())
+                .toJavaOptional();
+    }
+
+    /**
+     * A range request is only honoured when the If-Range header is missing or holds the current ETag or Last-Modified
+     * date. Otherwise, the file has changed since the client started the download and the whole file must be sent
+     * again. Weak ETags never match, as required for range requests.
+     */
+    private boolean isRangeApplicable(HttpServletRequest request, DownloadFileResult result) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        if (ifRange == null) {
+            return true;
+        }
+
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals("\"" + result.getEtag() + "\"");
+        }
+
+        return Try.of(() -> ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant())
+                .map(date -> date.equals(result.getLastModified().truncatedTo(ChronoUnit.SECONDS)))
+                .getOrElse(false);
+    }
+
+    private void writeFull(BodySource source, DownloadFileResult result, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(result.getSize());
+
+        source.writeTo(this.getOutputStream(response), 0, result.getSize());
+    }
+
+    private void writeRangeNotSatisfiable(DownloadFileResult result, HttpServletResponse response) {
+        response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + result.getSize());
+        response.setContentLength(0);
+    }
+
+    private void writeRange(BodySource source, DownloadFileResult result, ByteRange range, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(range.getLength());
+        response.setHeader(HttpHeaders.CONTENT_RANGE, range.toContentRange(result.getSize()));
+
+        source.writeTo(this.getOutputStream(response), range.getStart(), range.getLength());
+    }
+
+    /**
+     * Writes a multipart/byteranges body. The part headers are known upfront, so the exact Content-Length is
+     * calculated before anything is written and the body is still streamed from a single source.
+     */
+    private void writeRanges(BodySource source, DownloadFileResult result, List<ByteRange> ranges, HttpServletResponse response) throws IOException {
+        String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+
+        List<byte[]> partHeaders = ranges
+                .stream()
+                .map(range -> String.format("\r\n--%s\r\n%s: %s\r\n%s: %s\r\n\r\n",
+                                boundary,
+                                HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE,
+                                HttpHeaders.CONTENT_RANGE, range.toContentRange(result.getSize()))
+                        .getBytes(StandardCharsets.US_ASCII))
+                .toList();
+        byte[] closingBoundary = String.format("\r\n--%s--\r\n", boundary).getBytes(StandardCharsets.US_ASCII);
+
+        long contentLength = closingBoundary.length;
+        for (int i = 0; i < ranges.size(); i++) {
+            contentLength += partHeaders.get(i).length + ranges.get(i).getLength();
+        }
+
+        response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(contentLength);
+
+        ServletOutputStream outputStream = this.getOutputStream(response);
+
+        for (int i = 0; i < ranges.size(); i++) {
+            outputStream.write(partHeaders.get(i));
+            source.writeTo(outputStream, ranges.get(i).getStart(), ranges.get(i).getLength());
+        }
+
+        outputStream.write(closingBoundary);
+    }
+
+    /**
+     * Copies {@code count} bytes of the file, starting at {@code position}, to the output stream using positioned
+     * reads. When running on Undertow and the copied part reaches the end of the file, the channel is handed to
+     * Undertow directly, which lets the kernel move the bytes from the page cache to the socket. Otherwise, the file
+     * channel transfers to the output stream, which still avoids buffering the whole file.
+     */
+    private void transfer(FileChannel channel, long position, long count, ServletOutputStream outputStream) throws IOException {
+        if (outputStream instanceof ServletOutputStreamImpl undertowOutputStream && position + count == channel.size()) {
+            undertowOutputStream.transferFrom(channel.position(position));
+            return;
+        }
+
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long transferred = 0;
+
+        while (transferred < count) {
+            long written = channel.transferTo(position + transferred, count - transferred, target);
+
+            if (written <= 0) {
+                throw new EOFException("File is shorter than expected.");
+            }
+
+            transferred += written;
+        }
+    }
+
+    /**
+     * Copies {@code count} bytes of the cached content, starting at {@code position}, to the output stream.
+     */
+    private void transfer(ByteBuffer content, long position, long count, ServletOutputStream outputStream) throws IOException {
+        ByteBuffer part = content
+                .duplicate()
+                .limit((int) (position + count))
+                .position((int) position);
+        WritableByteChannel target = Channels.newChannel(outputStream);
+
+        while (part.hasRemaining()) {
+            target.write(part);
+        }
+    }
+
+    /**
+     * Returns Undertow's own output stream when available, bypassing the Spring Security response wrappers, which
+     * do not support channel transfers. The response is committed through the wrappers first, so that headers added
+     * by them are still sent.
+     */
+    private ServletOutputStream getOutputStream(HttpServletResponse response) throws IOException {
+        ServletRequestContext context = this.exchangeAccessor
+                .getExchange(response)
+                .getAttachment(ServletRequestContext.ATTACHMENT_KEY);
+
+        if (context == null) {
+            return response.getOutputStream();
+        }
+
+        response.flushBuffer();
+
+        return context.getOriginalResponse().getOutputStream();
     }
 
     /**
@@ -72,6 +332,7 @@ public abstract class BaseController {
         HttpServerExchange exchange = this.exchangeAccessor.getExchange(response);
 
         exchange.setReasonPhrase(error.getStatusMessage());
+        this.setRetryAfter(error, response);
 
         ErrorWrapper wrapper = ErrorWrapper.builder()
                 .errorCode(error.getStatusCode())
@@ -86,16 +347,30 @@ public abstract class BaseController {
     }
 
     /**
-     * Error handler for the file upload and download operations. Sets the status message of the ApiError as the reason
-     * phrase of the response.
+     * Error handler for the file download operation. Sets the status code and the status message of the ApiError as
+     * the reason phrase of the response.
      */
-    private ResponseEntity<byte[]> handleMvnError(Either<ApiError, ?> processorResult, HttpServletResponse response) {
-        ApiError error = processorResult.getLeft();
+    private void handleMvnError(ApiError error, HttpServletResponse response) {
+        response.setStatus(error.getStatusCode());
+        this.setRetryAfter(error, response);
         this.exchangeAccessor.getExchange(response)
                 .setReasonPhrase(error.getStatusMessage());
+    }
 
-        return ResponseEntity
-                .status(error.getStatusCode())
-                .build();
+    /**
+     * Tells the client when to retry if the request was rejected because the server is busy.
+     */
+    private void setRetryAfter(ApiError error, HttpServletResponse response) {
+        if (error instanceof ServerBusyError serverBusyError) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(serverBusyError.getRetryAfterSeconds()));
+        }
+    }
+
+    /**
+     * Writes a part of the downloaded file to the response, either from an open file channel or from cached content.
+     */
+    @FunctionalInterface
+    private interface BodySource {
+        void writeTo(ServletOutputStream outputStream, long position, long count) throws IOException;
     }
 }
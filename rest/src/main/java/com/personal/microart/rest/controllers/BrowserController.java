@@ -1,43 +1,114 @@
 package com.personal.microart.rest.controllers;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personal.microart.api.errors.ApiError;
 import com.personal.microart.api.operations.browse.BrowseInput;
+import com.personal.microart.api.operations.browse.BrowseResult;
+import com.personal.microart.api.operations.browse.Content;
+import com.personal.microart.api.operations.search.SearchInput;
 import com.personal.microart.core.processor.browse.BrowseCore;
+import com.personal.microart.core.processor.search.SearchCore;
+import io.vavr.control.Either;
 import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.IOException;
+
 import static com.personal.microart.rest.Endpoints.BROWSE_FILES;
+import static com.personal.microart.rest.Endpoints.SEARCH;
 
 /**
- * A controller that is responsible for handling all browse requests.
+ * A controller that is responsible for handling all browse and search requests.
  */
 @RestController
 @RequiredArgsConstructor
 public class BrowserController extends BaseController {
 
     private final BrowseCore browse;
+    private final SearchCore search;
     private final ExchangeAccessor exchangeAccessor;
+    private final ObjectMapper objectMapper;
 
     @PostConstruct
     private void setExchangeAccessor() {
         this.setExchangeAccessor(exchangeAccessor);
     }
 
+    /**
+     * Errors are handled as usual. The content is written to the response one entry at a time, so it is never held in
+     * memory as a whole, and null is returned to tell Spring that the response is complete.
+     */
     @GetMapping(path = BROWSE_FILES)
     @ResponseBody
-    public ResponseEntity<?> get(HttpServletRequest request, HttpServletResponse response) {
+    public ResponseEntity<?> get(@RequestParam(required = false) Integer limit,
+                                 @RequestParam(required = false) String cursor,
+                                 HttpServletRequest request,
+                                 HttpServletResponse response) throws IOException {
 
         BrowseInput input = BrowseInput
                 .builder()
                 .uri(request.getRequestURI())
+                .limit(limit)
+                .cursor(cursor)
+                .build();
+
+        Either<ApiError, BrowseResult> result = this.browse.process(input);
+
+        if (result.isLeft()) {
+            return this.handle(result, response);
+        }
+
+        this.writeContent(result.get(), response);
+        return null;
+    }
+
+    @GetMapping(path = SEARCH)
+    @ResponseBody
+    public ResponseEntity<?> search(@RequestParam(required = false) String groupId,
+                                    @RequestParam(required = false) String artifactId,
+                                    @RequestParam(required = false) String version,
+                                    @RequestParam(required = false) Integer limit,
+                                    HttpServletResponse response) {
+
+        SearchInput input = SearchInput
+                .builder()
+                .groupId(groupId)
+                .artifactId(artifactId)
+                .version(version)
+                .limit(limit)
                 .build();
 
-        return this.handle(this.browse.process(input), response);
+        return this.handle(this.search.process(input), response);
     }
 
+    private void writeContent(BrowseResult result, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+
+        try (JsonGenerator generator = this.objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+
+            for (Content content : result.getContent()) {
+                generator.writeStartObject();
+                generator.writeStringField("name", content.getName());
+                generator.writeStringField("uri", content.getUri());
+                generator.writeEndObject();
+            }
+
+            generator.writeEndArray();
+            generator.writeStringField("nextCursor", result.getNextCursor());
+            generator.writeEndObject();
+        }
+    }
 }
@@ -0,0 +1,24 @@
+package com.personal.microart.rest.controllers;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * An inclusive, already resolved range of bytes within a file, e.g. bytes 0-499 of a file with 1000 bytes.
+ */
+@AllArgsConstructor
+@Getter
+public class ByteRange {
+
+    private final long start;
+
+    private final long end;
+
+    public long getLength() {
+        return this.end - this.start + 1;
+    }
+
+    public String toContentRange(long size) {
+        return String.format("bytes %d-%d/%d", this.start, this.end, size);
+    }
+}
@@ -1,5 +1,7 @@
 package com.personal.microart.rest.controllers;
 
+import com.personal.microart.api.operations.file.bundle.UploadBundleInput;
+import com.personal.microart.api.operations.file.bundle.UploadBundleOperation;
 import com.personal.microart.api.operations.file.download.DownloadFileInput;
 import com.personal.microart.api.operations.file.download.DownloadFileOperation;
 import com.personal.microart.api.operations.file.upload.UploadFileInput;
@@ -14,17 +16,22 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
+import static com.personal.microart.rest.Endpoints.BUNDLE_UPLOAD;
 import static com.personal.microart.rest.Endpoints.FILE_DOWNLOAD;
 import static com.personal.microart.rest.Endpoints.FILE_UPLOAD;
 
 /**
- * A controller that is responsible for handling file upload and download requests.
+ * A controller that is responsible for handling file upload and download requests, and uploads of whole deployment
+ * bundles.
  */
 @RestController
 @RequiredArgsConstructor
 public class FileController extends BaseController {
     private final UploadFileOperation uploadFile;
     private final DownloadFileOperation downloadFile;
+    private final UploadBundleOperation uploadBundle;
     private final ExchangeAccessor exchangeAccessor;
 
     @PostConstruct
@@ -33,28 +40,53 @@ public class FileController extends BaseController {
     }
 
     @GetMapping(path = FILE_DOWNLOAD, produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    @ResponseBody
-    public ResponseEntity<?> get(HttpServletRequest request, HttpServletResponse response) {
+    public void get(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        DownloadFileInput input = DownloadFileInput
+                .builder()
+                .authentication(request.getHeader(HttpHeaders.AUTHORIZATION))
+                .uri(request.getRequestURI())
+                .build();
+
+        this.handleMvn(this.downloadFile.process(input), request, response);
+    }
+
+    @RequestMapping(path = FILE_DOWNLOAD, method = RequestMethod.HEAD)
+    public void head(HttpServletRequest request, HttpServletResponse response) {
 
         DownloadFileInput input = DownloadFileInput
                 .builder()
                 .authentication(request.getHeader(HttpHeaders.AUTHORIZATION))
                 .uri(request.getRequestURI())
+                .metadataOnly(true)
                 .build();
 
-        return this.handleMvn(this.downloadFile.process(input), response);
+        this.handleMvnHead(this.downloadFile.process(input), request, response);
     }
 
     @PutMapping(path = FILE_UPLOAD)
-    public ResponseEntity<?> put(@RequestBody byte[] content, HttpServletRequest request, HttpServletResponse response) {
+    public ResponseEntity<?> put(HttpServletRequest request, HttpServletResponse response) throws IOException {
 
         UploadFileInput input = UploadFileInput
                 .builder()
                 .uri(request.getRequestURI())
-                .content(content)
+                .content(request.getInputStream())
                 .authentication(request.getHeader(HttpHeaders.AUTHORIZATION))
                 .build();
 
         return this.handle(this.uploadFile.process(input), response);
     }
+
+    @PutMapping(path = BUNDLE_UPLOAD)
+    public ResponseEntity<?> putBundle(HttpServletRequest request, HttpServletResponse response) throws IOException {
+
+        UploadBundleInput input = UploadBundleInput
+                .builder()
+                .uri(request.getRequestURI())
+                .content(request.getInputStream())
+                .authentication(request.getHeader(HttpHeaders.AUTHORIZATION))
+                .build();
+
+        return this.handle(this.uploadBundle.process(input), response);
+    }
 }
@@ -0,0 +1,73 @@
+package com.personal.microart.rest.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personal.microart.core.ratelimit.RateLimiter;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Limits the request rate of each client IP address. Runs before authentication, so repeated attempts with wrong
+ * credentials are rejected before any password is verified.
+ * <p>
+ * Behind a reverse proxy every request comes from the proxy's address, so all clients would share one limit. The
+ * addresses of such proxies must be listed in RATE_LIMIT_TRUSTED_PROXIES. For requests from a trusted proxy the client
+ * address is taken from the X-Forwarded-For header, as the last address in it that is not a trusted proxy itself.
+ * The header is ignored for all other requests, as any client can send it.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClientRateLimitFilter extends RateLimitFilter {
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @Value("${RATE_LIMIT_TRUSTED_PROXIES}")
+    private String RATE_LIMIT_TRUSTED_PROXIES;
+
+    private Set<String> trustedProxies;
+
+    @PostConstruct
+    private void init() {
+        super.setRateLimiter(this.rateLimiter);
+        super.setObjectMapper(this.objectMapper);
+
+        this.trustedProxies = Arrays.stream(this.RATE_LIMIT_TRUSTED_PROXIES.split(","))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    @Override
+    protected Optional<String> getKey(HttpServletRequest request) {
+        return Optional.ofNullable(request.getRemoteAddr())
+                .map(address -> this.getClientAddress(address, request))
+                .map(address -> "ip:" + address);
+    }
+
+    private String getClientAddress(String remoteAddress, HttpServletRequest request) {
+        String clientAddress = remoteAddress;
+        List<String> forwardedAddresses = Collections.list(request.getHeaders(X_FORWARDED_FOR))
+                .stream()
+                .flatMap(header -> Arrays.stream(header.split(",")))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .toList();
+
+        for (int i = forwardedAddresses.size() - 1; i >= 0 && this.trustedProxies.contains(clientAddress); i--) {
+            clientAddress = forwardedAddresses.get(i);
+        }
+
+        return clientAddress;
+    }
+}
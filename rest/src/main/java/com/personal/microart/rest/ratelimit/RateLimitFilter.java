@@ -0,0 +1,96 @@
+package com.personal.microart.rest.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personal.microart.api.errors.TooManyRequestsError;
+import com.personal.microart.core.ratelimit.EndpointClass;
+import com.personal.microart.core.ratelimit.RateLimiter;
+import com.personal.microart.rest.controllers.ErrorWrapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.Setter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+
+import static com.personal.microart.rest.Endpoints.BUNDLE;
+import static com.personal.microart.rest.Endpoints.FILE;
+import static com.personal.microart.rest.Endpoints.USER;
+
+/**
+ * Base class for filters that limit the request rate. Each filter must provide the key its requests are counted
+ * against. Requests are grouped into {@link EndpointClass endpoint classes} - Maven downloads, Maven uploads, user
+ * operations such as login, and everything else - each with its own limit. A request over the limit is answered with
+ * 429 Too Many Requests and a Retry-After header, with the same error body the controllers send, without reaching
+ * the next filter.
+ */
+public abstract class RateLimitFilter extends OncePerRequestFilter {
+    @Setter
+    private RateLimiter rateLimiter;
+
+    @Setter
+    private ObjectMapper objectMapper;
+
+    /**
+     * Returns the key the request is counted against, or an empty Optional if this filter does not limit the request.
+     */
+    protected abstract Optional<String> getKey(HttpServletRequest request);
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Optional<Duration> retryAfter = this.getKey(request)
+                .flatMap(key -> this.rateLimiter.tryAcquire(key, this.getEndpointClass(request)));
+
+        if (retryAfter.isPresent()) {
+            TooManyRequestsError error = TooManyRequestsError
+                    .builder()
+                    .retryAfterSeconds(Math.max(1, (retryAfter.get().toMillis() + 999) / 1000))
+                    .build();
+
+            ErrorWrapper wrapper = ErrorWrapper.builder()
+                    .errorCode(error.getStatusCode())
+                    .uri(request.getRequestURI())
+                    .dateTime(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")))
+                    .errors(List.of(error.getStatusMessage()))
+                    .build();
+
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.setStatus(error.getStatusCode());
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(error.getRetryAfterSeconds()));
+            this.objectMapper.writeValue(response.getWriter(), wrapper);
+            return;
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    private EndpointClass getEndpointClass(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        HttpMethod method = HttpMethod.valueOf(request.getMethod().toUpperCase());
+
+        if (uri.startsWith(FILE + "/") && (method == HttpMethod.GET || method == HttpMethod.HEAD)) {
+            return EndpointClass.MVN_DOWNLOAD;
+        }
+
+        if ((uri.startsWith(FILE + "/") || uri.startsWith(BUNDLE + "/")) && method == HttpMethod.PUT) {
+            return EndpointClass.MVN_UPLOAD;
+        }
+
+        if (uri.startsWith(USER + "/")) {
+            return EndpointClass.USER;
+        }
+
+        return EndpointClass.DEFAULT;
+    }
+}
@@ -0,0 +1,40 @@
+package com.personal.microart.rest.ratelimit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.personal.microart.core.ratelimit.RateLimiter;
+import com.personal.microart.persistence.entities.MicroartUser;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Limits the request rate of each authenticated user, regardless of how many clients the user sends requests from.
+ * Runs after authentication. Anonymous requests are only limited by the {@link ClientRateLimitFilter}.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserRateLimitFilter extends RateLimitFilter {
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper;
+
+    @PostConstruct
+    private void init() {
+        super.setRateLimiter(this.rateLimiter);
+        super.setObjectMapper(this.objectMapper);
+    }
+
+    @Override
+    protected Optional<String> getKey(HttpServletRequest request) {
+        return Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .map(Authentication::getDetails)
+                .filter(MicroartUser.class::isInstance)
+                .map(MicroartUser.class::cast)
+                .filter(user -> !user.isEmpty())
+                .map(user -> "user:" + user.getUsername());
+    }
+}
@@ -8,6 +8,7 @@ import com.personal.microart.persistence.entities.BlacklistedJwt;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.Vault;
 import com.personal.microart.persistence.directorymanager.FileReader;
+import com.personal.microart.persistence.directorymanager.StoredFile;
 import com.personal.microart.persistence.repositories.ArtefactRepository;
 import com.personal.microart.persistence.repositories.BlacklistedJwtRepository;
 import com.personal.microart.persistence.repositories.UserRepository;
@@ -36,9 +37,13 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
 import java.time.ZoneOffset;
 import java.util.List;
 import java.util.Random;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
@@ -46,6 +51,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.options;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
@@ -87,6 +93,8 @@ class BrowseTest {
 
     private final byte[] FILE_CONTENTS = new byte[1024];
 
+    private StoredFile STORED_FILE;
+
     private final String EXISTING_EMAIL_1 = "test@test";
     private final String EXISTING_USERNAME_1 = "test-user1";
     private final String EXISTING_PASSWORD_1 = "testpass";
@@ -125,8 +133,20 @@ class BrowseTest {
             .build();
 
     @BeforeAll
+    @SneakyThrows
     public void init() {
         new Random().nextBytes(this.FILE_CONTENTS);
+
+        Path file = Files.createTempFile("artefact", ".jar");
+        Files.write(file, this.FILE_CONTENTS);
+        file.toFile().deleteOnExit();
+
+        this.STORED_FILE = StoredFile.builder()
+                .path(file)
+                .size((long) this.FILE_CONTENTS.length)
+                .lastModified(Instant.now())
+                .version(UUID.randomUUID().toString())
+                .build();
     }
 
     @BeforeEach
@@ -205,6 +225,13 @@ class BrowseTest {
                 .andExpect(jsonPath("$.content[0].uri").value(String.format("/browse/%s", this.EXISTING_USERNAME_1)));
     }
 
+    @SneakyThrows
+    @Test
+    public void doesNotFailOnMethodWithoutProtectedEndpoints() {
+        this.mockMvc.perform(options("/browse"))
+                .andExpect(status().isOk());
+    }
+
     @SneakyThrows
     @ParameterizedTest
     @ValueSource(strings = {
@@ -228,7 +255,8 @@ class BrowseTest {
     @SneakyThrows
     @Test
     public void exploresPublicVaultAndDownloadsFileWhenUserIsAnonymous() {
-        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.FILE_CONTENTS));
+        when(this.fileReader.getFile(any())).thenReturn(Either.right(this.STORED_FILE));
+        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.STORED_FILE));
 
         MvcResult result;
         String uri = "/browse";
@@ -263,7 +291,8 @@ class BrowseTest {
     @SneakyThrows
     @Test
     public void exploresPublicVaultAndDownloadsFileWhenJwtBlacklisted() {
-        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.FILE_CONTENTS));
+        when(this.fileReader.getFile(any())).thenReturn(Either.right(this.STORED_FILE));
+        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.STORED_FILE));
 
         String authHeaderValue = this.getAuthHeaderValue(this.EXISTING_USER_1);
         Token token = this.jwtProvider.getJwt(authHeaderValue);
@@ -311,7 +340,8 @@ class BrowseTest {
     @SneakyThrows
     @Test
     public void exploresPublicVaultAndDownloadsFileWhenUserIsNonExisting() {
-        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.FILE_CONTENTS));
+        when(this.fileReader.getFile(any())).thenReturn(Either.right(this.STORED_FILE));
+        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.STORED_FILE));
 
         MvcResult result;
         String uri = "/browse";
@@ -344,6 +374,181 @@ class BrowseTest {
         }
     }
 
+    @SneakyThrows
+    @Test
+    public void doesNotListDeletedArtefacts() {
+        Vault vault = this.vaultRepository.findVaultByName(this.EXISTING_VAULT_1).get();
+        Artefact artefact = vault.getArtefacts().get(0);
+
+        vault.removeArtefact(artefact);
+        this.vaultRepository.save(vault);
+        this.artefactRepository.delete(artefact);
+
+        this.mockMvc.perform(get("/browse"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @SneakyThrows
+    @Test
+    public void listsDirectChildrenOfDirectory() {
+        this.artefactRepository.save(Artefact
+                .builder()
+                .uri(String.format("/mvn/%s/%s/com/test/download/0.0.2/test-0.0.2.jar", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1))
+                .filename("file4")
+                .build());
+
+        this.mockMvc.perform(get(String.format("/browse/%s/%s/com/test/download", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.content[0].name").value("0.0.1-SNAPSHOT"))
+                .andExpect(jsonPath("$.content[1].name").value("0.0.2"))
+                .andExpect(jsonPath("$.content[1].uri").value(String.format("/browse/%s/%s/com/test/download/0.0.2", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1)));
+    }
+
+    @SneakyThrows
+    @Test
+    public void keepsVaultsOfDifferentOwnersWithTheSameNameApart() {
+        Vault vault = Vault
+                .builder()
+                .name(this.EXISTING_VAULT_1)
+                .owner(this.EXISTING_USER_3)
+                .build();
+
+        vault.isPublic(false);
+        vault.addArtefact(this.artefactRepository.save(Artefact
+                .builder()
+                .uri(String.format("/mvn/%s/%s/com/secret/secret/0.0.1/secret-0.0.1.jar", this.EXISTING_USERNAME_3, this.EXISTING_VAULT_1))
+                .filename("file4")
+                .build()));
+        this.vaultRepository.save(vault);
+
+        this.mockMvc.perform(get("/browse"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value(this.EXISTING_USERNAME_1));
+
+        this.mockMvc.perform(get(String.format("/browse/%s/%s/com", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("test"));
+
+        this.mockMvc.perform(get(String.format("/browse/%s/%s/com", this.EXISTING_USERNAME_3, this.EXISTING_VAULT_1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+
+        String authHeaderValue = this.getAuthHeaderValue(this.EXISTING_USER_3);
+
+        this.mockMvc.perform(get(String.format("/browse/%s", this.EXISTING_USERNAME_3))
+                        .header(HttpHeaders.AUTHORIZATION, authHeaderValue))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value(this.EXISTING_VAULT_1));
+
+        this.mockMvc.perform(get(String.format("/browse/%s/%s/com", this.EXISTING_USERNAME_3, this.EXISTING_VAULT_1))
+                        .header(HttpHeaders.AUTHORIZATION, authHeaderValue))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("secret"));
+
+        this.mockMvc.perform(get(String.format("/browse/%s/%s/com", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1))
+                        .header(HttpHeaders.AUTHORIZATION, authHeaderValue))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("test"));
+    }
+
+    @SneakyThrows
+    @Test
+    public void doesNotShareCachedPagesBetweenUsersSeeingVaultsWithTheSameNames() {
+        for (String vaultName : List.of(this.EXISTING_VAULT_2, this.EXISTING_VAULT_3)) {
+            Vault vault = Vault
+                    .builder()
+                    .name(vaultName)
+                    .owner(this.EXISTING_USER_3)
+                    .build();
+
+            vault.isPublic(false);
+            vault.addArtefact(this.artefactRepository.save(Artefact
+                    .builder()
+                    .uri(String.format("/mvn/%s/%s/org/other/other/0.0.1/other-0.0.1.jar", this.EXISTING_USERNAME_3, vaultName))
+                    .filename("file-" + vaultName)
+                    .build()));
+            this.vaultRepository.save(vault);
+        }
+
+        String uri = String.format("/browse/%s/%s/com", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_2);
+
+        this.mockMvc.perform(get(uri)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USER_2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        this.mockMvc.perform(get(uri)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USER_3)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(0));
+    }
+
+    @SneakyThrows
+    @Test
+    public void listsNewArtefactsOfPreviouslyBrowsedDirectory() {
+        String uri = String.format("/browse/%s/%s/com/test/download", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1);
+
+        this.mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1));
+
+        this.artefactRepository.save(Artefact
+                .builder()
+                .uri(String.format("/mvn/%s/%s/com/test/download/0.0.2/test-0.0.2.jar", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1))
+                .filename("file4")
+                .build());
+
+        this.mockMvc.perform(get(uri))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returnsDirectoryContentInPages() {
+        this.artefactRepository.save(Artefact
+                .builder()
+                .uri(String.format("/mvn/%s/%s/com/test/download/0.0.2/test-0.0.2.jar", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1))
+                .filename("file4")
+                .build());
+
+        String uri = String.format("/browse/%s/%s/com/test/download", this.EXISTING_USERNAME_1, this.EXISTING_VAULT_1);
+
+        MvcResult firstPage = this.mockMvc.perform(get(uri).param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("0.0.1-SNAPSHOT"))
+                .andExpect(jsonPath("$.nextCursor").isNotEmpty())
+                .andReturn();
+
+        String cursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        this.mockMvc.perform(get(uri).param("limit", "1").param("cursor", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(1))
+                .andExpect(jsonPath("$.content[0].name").value("0.0.2"))
+                .andExpect(jsonPath("$.nextCursor").isEmpty());
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns400whenLimitIsInvalid() {
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn("/browse");
+
+        this.mockMvc.perform(get("/browse").param("limit", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @SneakyThrows
     @Test
     public void returnsListOfAllPublicVaultsWithCorrectUrisWhenUserIsAuthorized() {
@@ -358,7 +563,8 @@ class BrowseTest {
     @Test
     @SneakyThrows
     public void exploresPublicVaultAndDownloadsFileWhenUserIsAuthorized() {
-        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.FILE_CONTENTS));
+        when(this.fileReader.getFile(any())).thenReturn(Either.right(this.STORED_FILE));
+        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.STORED_FILE));
 
         MvcResult result;
         String uri = "/browse";
@@ -407,7 +613,8 @@ class BrowseTest {
     @SneakyThrows
     @Test
     public void exploresPublicAndAuthorizedVaultAndDownloadsFileWhenUserIsAuthorized() {
-        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.FILE_CONTENTS));
+        when(this.fileReader.getFile(any())).thenReturn(Either.right(this.STORED_FILE));
+        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.STORED_FILE));
         this.vaultRepository.delete(this.vaultRepository.findVaultByName(this.EXISTING_VAULT_1).get());
         this.vaultRepository.delete(this.vaultRepository.findVaultByName(this.EXISTING_VAULT_3).get());
 
@@ -450,7 +657,8 @@ class BrowseTest {
     @SneakyThrows
     @Test
     public void returns403whenJwtBlacklistedAndDownloadingFromAuthorizedVault() {
-        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.FILE_CONTENTS));
+        when(this.fileReader.getFile(any())).thenReturn(Either.right(this.STORED_FILE));
+        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.STORED_FILE));
         String uri = this.artefactRepository.findAllByFilename("file2").stream().findFirst().get().getUri();
 
         HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
@@ -6,6 +6,7 @@ import com.personal.microart.persistence.entities.Vault;
 import com.personal.microart.persistence.errors.Error;
 import com.personal.microart.persistence.errors.ReadError;
 import com.personal.microart.persistence.directorymanager.FileReader;
+import com.personal.microart.persistence.directorymanager.StoredFile;
 import com.personal.microart.persistence.repositories.ArtefactRepository;
 import com.personal.microart.persistence.repositories.UserRepository;
 import com.personal.microart.persistence.repositories.VaultRepository;
@@ -24,23 +25,42 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
+import java.io.ByteArrayOutputStream;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Random;
+import java.util.UUID;
 
 import static io.vavr.API.$;
 import static io.vavr.API.Case;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -57,7 +77,7 @@ class DownloadFileTest {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
+    @SpyBean
     private VaultRepository vaultRepository;
 
     @Autowired
@@ -73,6 +93,8 @@ class DownloadFileTest {
 
     private final byte[] FILE_CONTENTS = new byte[1024];
 
+    private StoredFile STORED_FILE;
+
     private final String EXISTING_EMAIL = "test@test";
     private final String EXISTING_USERNAME = "testusername";
     private final String EXISTING_PASSWORD = "testpass";
@@ -81,14 +103,26 @@ class DownloadFileTest {
     private final String NON_EXISTENT_ARTEFACT_URI = String.format("/mvn/%s/%s/com/test/download/0.0.1-SNAPSHOT/readme.md", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
     @BeforeAll
+    @SneakyThrows
     public void init() {
-
         new Random().nextBytes(this.FILE_CONTENTS);
+
+        Path file = Files.createTempFile("artefact", ".jar");
+        Files.write(file, this.FILE_CONTENTS);
+        file.toFile().deleteOnExit();
+
+        this.STORED_FILE = StoredFile.builder()
+                .path(file)
+                .size((long) this.FILE_CONTENTS.length)
+                .lastModified(Instant.now())
+                .version(UUID.randomUUID().toString())
+                .build();
     }
 
     @BeforeEach
     public void setup() {
-        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.FILE_CONTENTS));
+        when(this.fileReader.getFile(any())).thenReturn(Either.right(this.STORED_FILE));
+        when(this.fileReader.readFile(any())).thenReturn(Either.right(this.STORED_FILE));
 
         HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
         when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
@@ -224,9 +258,30 @@ class DownloadFileTest {
                 .andExpect(content().bytes(this.FILE_CONTENTS));
     }
 
+    @SneakyThrows
+    @Test
+    public void doesNotLoadVaultWhenCheckingDownloadPermissions() {
+        this.vaultRepository.findVaultByName(this.EXISTING_VAULT)
+                .ifPresent(vault -> {
+                    vault.isPublic(false);
+                    this.vaultRepository.save(vault);
+                });
+
+        clearInvocations(this.vaultRepository);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(this.FILE_CONTENTS));
+
+        verify(this.vaultRepository, never()).findVaultByName(any());
+    }
+
     @SneakyThrows
     @Test
     public void returns404WhenAnonymousUserDownloadsNonExistentFile() {
+        when(this.fileReader.getFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
         when(this.fileReader.readFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
 
         mockMvc.perform(MockMvcRequestBuilders.get(this.NON_EXISTENT_ARTEFACT_URI))
@@ -244,6 +299,7 @@ class DownloadFileTest {
             "Basic asdffsdgf"
     })
     public void returns404WhenDownloadsNonExistentFileAndAuthHeaderIsInvalid(String headerValue) {
+        when(this.fileReader.getFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
         when(this.fileReader.readFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
 
         mockMvc.perform(MockMvcRequestBuilders
@@ -255,6 +311,7 @@ class DownloadFileTest {
     @SneakyThrows
     @Test
     public void returns404WhenAuthenticatedUserDownloadsNonExistentFile() {
+        when(this.fileReader.getFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
         when(this.fileReader.readFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
 
         mockMvc.perform(MockMvcRequestBuilders
@@ -266,6 +323,7 @@ class DownloadFileTest {
     @SneakyThrows
     @Test
     public void returns404WhenNonExistentUserDownloadsNonExistentFile() {
+        when(this.fileReader.getFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
         when(this.fileReader.readFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
 
         mockMvc.perform(MockMvcRequestBuilders
@@ -330,5 +388,145 @@ class DownloadFileTest {
                 .andExpect(status().isForbidden());
     }
 
+    @SneakyThrows
+    @Test
+    public void returnsPartialContentWhenSingleRangeRequested() {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.RANGE, "bytes=100-199"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 100-199/1024"))
+                .andExpect(content().bytes(Arrays.copyOfRange(this.FILE_CONTENTS, 100, 200)));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returnsRemainingBytesWhenDownloadIsResumed() {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.RANGE, "bytes=1000-"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 1000-1023/1024"))
+                .andExpect(content().bytes(Arrays.copyOfRange(this.FILE_CONTENTS, 1000, 1024)));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returnsMultipartContentWhenMultipleRangesRequested() {
+        MvcResult result = mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.RANGE, "bytes=0-9,20-29"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, startsWith("multipart/byteranges; boundary=")))
+                .andReturn();
+
+        String boundary = result.getResponse().getContentType().substring("multipart/byteranges; boundary=".length());
+
+        ByteArrayOutputStream expectedBody = new ByteArrayOutputStream();
+        expectedBody.writeBytes(String.format("\r\n--%s\r\nContent-Type: application/octet-stream\r\nContent-Range: bytes 0-9/1024\r\n\r\n", boundary).getBytes(StandardCharsets.US_ASCII));
+        expectedBody.writeBytes(Arrays.copyOfRange(this.FILE_CONTENTS, 0, 10));
+        expectedBody.writeBytes(String.format("\r\n--%s\r\nContent-Type: application/octet-stream\r\nContent-Range: bytes 20-29/1024\r\n\r\n", boundary).getBytes(StandardCharsets.US_ASCII));
+        expectedBody.writeBytes(Arrays.copyOfRange(this.FILE_CONTENTS, 20, 30));
+        expectedBody.writeBytes(String.format("\r\n--%s--\r\n", boundary).getBytes(StandardCharsets.US_ASCII));
+
+        assertFalse(boundary.isBlank());
+        assertArrayEquals(expectedBody.toByteArray(), result.getResponse().getContentAsByteArray());
+        assertEquals(expectedBody.size(), result.getResponse().getContentLength());
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns416WhenRangeNotSatisfiable() {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.RANGE, "bytes=2000-3000"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */1024"));
+    }
 
-}
\ No newline at end of file
+    @SneakyThrows
+    @Test
+    public void returnsFullContentWhenIfRangeDoesNotMatch() {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.RANGE, "bytes=100-199")
+                        .header(HttpHeaders.IF_RANGE, "Wed, 21 Oct 2015 07:28:00 GMT"))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(this.FILE_CONTENTS));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returnsETagAndLastModifiedWhenDownloading() {
+        mockMvc.perform(MockMvcRequestBuilders.get(this.ARTEFACT_URI))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + this.STORED_FILE.getVersion() + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns304WhenETagMatches() {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + this.STORED_FILE.getVersion() + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns304WhenNotModifiedSince() {
+        String tomorrow = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now(ZoneOffset.UTC).plusDays(1));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, tomorrow))
+                .andExpect(status().isNotModified())
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @SneakyThrows
+    @Test
+    public void downloadsWhenETagDoesNotMatch() {
+        mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.ARTEFACT_URI)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"outdated\""))
+                .andExpect(status().isOk())
+                .andExpect(content().bytes(this.FILE_CONTENTS));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returnsMetadataOnHeadRequest() {
+        mockMvc.perform(MockMvcRequestBuilders.head(this.ARTEFACT_URI))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, this.FILE_CONTENTS.length))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + this.STORED_FILE.getVersion() + "\""))
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andExpect(content().bytes(new byte[0]));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns404OnHeadRequestWhenFileDoesNotExist() {
+        when(this.fileReader.getFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
+        when(this.fileReader.readFile(any())).thenReturn(Either.left(ReadError.builder().error(Error.FILE_NOT_FOUND_ERROR).build()));
+
+        mockMvc.perform(MockMvcRequestBuilders.head(this.NON_EXISTENT_ARTEFACT_URI))
+                .andExpect(status().isNotFound());
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns403OnHeadRequestWhenAnonymousUserAndVaultIsPrivate() {
+        this.vaultRepository.findVaultByName(this.EXISTING_VAULT)
+                .ifPresent(vault -> {
+                    vault.isPublic(false);
+                    this.vaultRepository.save(vault);
+                });
+
+        mockMvc.perform(MockMvcRequestBuilders.head(this.ARTEFACT_URI))
+                .andExpect(status().isForbidden());
+    }
+}
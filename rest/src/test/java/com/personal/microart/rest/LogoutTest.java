@@ -26,12 +26,14 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.lang.reflect.Field;
@@ -42,6 +44,10 @@ import java.util.List;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -55,7 +61,7 @@ public class LogoutTest {
     @Autowired
     private MockMvc mockMvc;
 
-    @Autowired
+    @SpyBean
     private UserRepository userRepository;
 
     @Autowired
@@ -121,6 +127,41 @@ public class LogoutTest {
                 .andExpect(status().isOk());
     }
 
+    @SneakyThrows
+    @Test
+    public void returns200whenBearerSchemeIsLowerCase() {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.TEST_URI)
+                        .header(HttpHeaders.AUTHORIZATION, this.headers.getFirst(HttpHeaders.AUTHORIZATION).replace("Bearer ", "bearer "))
+                        .contentType("application/json"))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    public void loadsUserOnceForRepeatedRequests() {
+        for (int i = 0; i < 3; i++) {
+            this.mockMvc.perform(MockMvcRequestBuilders
+                            .get(this.TEST_URI)
+                            .headers(this.headers)
+                            .contentType("application/json"))
+                    .andExpect(status().isOk());
+        }
+
+        verify(this.userRepository, times(1)).findByUsername(this.USER_USERNAME);
+    }
+
+    @SneakyThrows
+    @Test
+    public void doesNotLoadUserWithoutCredentials() {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get(this.TEST_URI)
+                        .contentType("application/json"))
+                .andExpect(status().isForbidden());
+
+        verify(this.userRepository, never()).findByUsername(any());
+    }
+
     @SneakyThrows
     @Test
     public void returns403whenJwtMissing() {
@@ -145,6 +186,23 @@ public class LogoutTest {
 
     }
 
+    @SneakyThrows
+    @Test
+    public void storesDecodedTokenInRequestOnLogOut() {
+        MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .headers(this.headers)
+                        .contentType("application/json"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        Token token = (Token) result.getRequest().getAttribute(JwtProvider.TOKEN_ATTRIBUTE);
+
+        assertEquals(this.USER_USERNAME, token.getUsername());
+        assertEquals(this.USER_EMAIL, token.getEmail());
+        assertEquals(1, this.blacklistedJwtRepository.count());
+    }
+
     @SneakyThrows
     @Test
     public void returns403whenJwtBlacklisted() {
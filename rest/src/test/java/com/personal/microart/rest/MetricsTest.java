@@ -0,0 +1,77 @@
+package com.personal.microart.rest;
+
+import com.personal.microart.core.auth.jwt.JwtProvider;
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.repositories.UserRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureWebTestClient
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class MetricsTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtProvider jwtProvider;
+
+    @Autowired
+    private ConversionService conversionService;
+
+    @AfterEach
+    public void teardown() {
+        this.userRepository.deleteAll();
+    }
+
+    @Test
+    @SneakyThrows
+    public void returns403whenAnonymousUserRequestsMetrics() {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics"))
+                .andExpect(status().isForbidden());
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics/artefact.cache.hits"))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    @SneakyThrows
+    public void returns200whenLoggedInUserRequestsMetrics() {
+        MicroartUser user = this.userRepository.save(MicroartUser
+                .builder()
+                .email("test@test")
+                .username("testusername")
+                .password(this.passwordEncoder.encode("testpass"))
+                .build());
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/actuator/metrics/artefact.cache.hits")
+                        .header(HttpHeaders.AUTHORIZATION, "Bearer " + this.conversionService.convert(this.jwtProvider.getJwt(user), String.class)))
+                .andExpect(status().isOk());
+    }
+}
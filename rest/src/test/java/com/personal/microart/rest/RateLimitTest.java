@@ -0,0 +1,244 @@
+package com.personal.microart.rest;
+
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.repositories.UserRepository;
+import com.personal.microart.rest.controllers.ExchangeAccessor;
+import io.undertow.server.HttpServerExchange;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "RATE_LIMIT_USER_PER_MINUTE=1",
+        "RATE_LIMIT_USER_BURST=2",
+        "RATE_LIMIT_TRUSTED_PROXIES=10.0.0.100"
+})
+@AutoConfigureMockMvc
+@AutoConfigureWebTestClient
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class RateLimitTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private ExchangeAccessor exchangeAccessor;
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private final String LOGOUT_URI = "/user/logout";
+
+    private final String EXISTING_USERNAME = "rate-limited";
+    private final String EXISTING_PASSWORD = "testpass";
+
+    @BeforeEach
+    public void setUp() {
+        this.userRepository.save(MicroartUser
+                .builder()
+                .email("rate-limited@test")
+                .username(this.EXISTING_USERNAME)
+                .password(this.passwordEncoder.encode(this.EXISTING_PASSWORD))
+                .build());
+
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn(this.LOGOUT_URI);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.userRepository.deleteAll();
+    }
+
+    private String getAuthHeaderValue(String username, String rawPassword) {
+        return "Basic " + Base64
+                .getEncoder()
+                .encodeToString((String.format("%s:%s", username, rawPassword).getBytes(StandardCharsets.UTF_8)))
+                .replace("=", "");
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns429withRetryAfterWhenClientExceedsLimit() {
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders
+                            .post(this.LOGOUT_URI)
+                            .with(request -> {
+                                request.setRemoteAddr("10.0.0.1");
+                                return request;
+                            }))
+                    .andReturn();
+
+            assertNotEquals(429, result.getResponse().getStatus());
+        }
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.1");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(jsonPath("$.errorCode").value(429))
+                .andExpect(jsonPath("$.uri").value(this.LOGOUT_URI))
+                .andExpect(jsonPath("$.errors[0]").value("Too many requests."));
+    }
+
+    @SneakyThrows
+    @Test
+    public void limitsEachClientAndEndpointClassSeparately() {
+        for (int i = 0; i < 3; i++) {
+            this.mockMvc.perform(MockMvcRequestBuilders
+                    .post(this.LOGOUT_URI)
+                    .with(request -> {
+                        request.setRemoteAddr("10.0.0.2");
+                        return request;
+                    }));
+        }
+
+        MvcResult otherClient = this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.3");
+                            return request;
+                        }))
+                .andReturn();
+
+        assertNotEquals(429, otherClient.getResponse().getStatus());
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/browse")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.2");
+                            return request;
+                        }))
+                .andExpect(status().isOk());
+    }
+
+    @SneakyThrows
+    @Test
+    public void limitsClientsBehindTrustedProxySeparately() {
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(MockMvcRequestBuilders
+                    .post(this.LOGOUT_URI)
+                    .header("X-Forwarded-For", "10.1.0.1")
+                    .with(request -> {
+                        request.setRemoteAddr("10.0.0.100");
+                        return request;
+                    }));
+        }
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .header("X-Forwarded-For", "10.1.0.1")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.100");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests());
+
+        MvcResult otherClient = this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .header("X-Forwarded-For", "10.1.0.1, 10.1.0.2")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.100");
+                            return request;
+                        }))
+                .andReturn();
+
+        assertNotEquals(429, otherClient.getResponse().getStatus());
+    }
+
+    @SneakyThrows
+    @Test
+    public void limitsUserAcrossClients() {
+        for (int i = 0; i < 2; i++) {
+            MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders
+                            .post(this.LOGOUT_URI)
+                            .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
+                            .with(request -> {
+                                request.setRemoteAddr("10.0.0.5");
+                                return request;
+                            }))
+                    .andReturn();
+
+            assertNotEquals(429, result.getResponse().getStatus());
+        }
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.6");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests());
+
+        MvcResult anonymousRequest = this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.7");
+                            return request;
+                        }))
+                .andReturn();
+
+        assertNotEquals(429, anonymousRequest.getResponse().getStatus());
+    }
+
+    @SneakyThrows
+    @Test
+    public void ignoresForwardedForHeaderFromUntrustedClients() {
+        for (int i = 0; i < 2; i++) {
+            this.mockMvc.perform(MockMvcRequestBuilders
+                    .post(this.LOGOUT_URI)
+                    .header("X-Forwarded-For", "10.2.0." + i)
+                    .with(request -> {
+                        request.setRemoteAddr("10.0.0.4");
+                        return request;
+                    }));
+        }
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.LOGOUT_URI)
+                        .header("X-Forwarded-For", "10.2.0.9")
+                        .with(request -> {
+                            request.setRemoteAddr("10.0.0.4");
+                            return request;
+                        }))
+                .andExpect(status().isTooManyRequests());
+    }
+}
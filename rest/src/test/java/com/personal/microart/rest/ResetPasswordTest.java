@@ -3,6 +3,7 @@ package com.personal.microart.rest;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.personal.microart.api.operations.user.resetpassword.ResetPasswordInput;
+import com.personal.microart.core.auth.BoundedPasswordEncoder;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.PasswordRecoveryToken;
 import com.personal.microart.persistence.repositories.PasswordRecoveryTokenRepository;
@@ -24,6 +25,7 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
@@ -32,12 +34,15 @@ import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import java.lang.reflect.Field;
 import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.concurrent.RejectedExecutionException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -66,6 +71,9 @@ public class ResetPasswordTest {
     @SpyBean
     private PasswordRecoveryTokenRepository passwordRecoveryTokenRepository;
 
+    @SpyBean
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
     private final String URI = "/user/password-reset?passwordResetToken=";
     private final String USER_EMAIL = "test@test.bg";
     private final String USER_PASSWORD = "password";
@@ -123,6 +131,35 @@ public class ResetPasswordTest {
 
     }
 
+    @SneakyThrows
+    @Test
+    public void keepsTokenValidWhenPasswordHashingIsBusy() {
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn(this.URI);
+
+        doThrow(new RejectedExecutionException()).when(this.boundedPasswordEncoder).encode(any());
+
+        ResetPasswordInput input = ResetPasswordInput
+                .builder()
+                .password(this.NEW_USER_PASSWORD)
+                .build();
+
+        String content = this.objectMapper
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writeValueAsString(input);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post(this.URI + this.RECOVERY_TOKEN)
+                        .content(content)
+                        .contentType("application/json"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        assertEquals(true, this.passwordRecoveryTokenRepository.findByTokenValue(this.RECOVERY_TOKEN).get().getIsValid());
+    }
+
     @SneakyThrows
     @Test
     public void returns400whenTokenLong() {
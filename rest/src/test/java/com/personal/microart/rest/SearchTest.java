@@ -0,0 +1,245 @@
+package com.personal.microart.rest;
+
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.entities.Vault;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.UserRepository;
+import com.personal.microart.persistence.repositories.VaultRepository;
+import com.personal.microart.rest.controllers.ExchangeAccessor;
+import io.undertow.server.HttpServerExchange;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureWebTestClient
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class SearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VaultRepository vaultRepository;
+
+    @Autowired
+    private ArtefactRepository artefactRepository;
+
+    @MockBean
+    private ExchangeAccessor exchangeAccessor;
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private final String EXISTING_USERNAME_1 = "test-user1";
+    private final String EXISTING_PASSWORD_1 = "testpass";
+
+    private final String EXISTING_USERNAME_2 = "test-user2";
+    private final String EXISTING_PASSWORD_2 = "testpass2";
+
+    private final String PUBLIC_VAULT = "public-vault";
+    private final String PRIVATE_VAULT = "private-vault";
+
+    private final MicroartUser EXISTING_USER_1 = MicroartUser
+            .builder()
+            .email("test@test")
+            .username(EXISTING_USERNAME_1)
+            .password(this.passwordEncoder.encode(EXISTING_PASSWORD_1))
+            .build();
+
+    private final MicroartUser EXISTING_USER_2 = MicroartUser
+            .builder()
+            .email("test2@test")
+            .username(EXISTING_USERNAME_2)
+            .password(this.passwordEncoder.encode(EXISTING_PASSWORD_2))
+            .build();
+
+    @BeforeEach
+    public void setup() {
+        this.userRepository.save(this.EXISTING_USER_1);
+        this.userRepository.save(this.EXISTING_USER_2);
+
+        Vault publicVault = Vault
+                .builder()
+                .name(this.PUBLIC_VAULT)
+                .owner(this.EXISTING_USER_1)
+                .build();
+
+        publicVault.addArtefact(this.saveArtefact(this.EXISTING_USERNAME_1, this.PUBLIC_VAULT, "com/test/download/0.0.1-SNAPSHOT/download-0.0.1-20240125.124348-1.jar"));
+        publicVault.addArtefact(this.saveArtefact(this.EXISTING_USERNAME_1, this.PUBLIC_VAULT, "com/test/download/0.0.1-SNAPSHOT/download-0.0.1-20240125.124348-1.pom"));
+        publicVault.addArtefact(this.saveArtefact(this.EXISTING_USERNAME_1, this.PUBLIC_VAULT, "com/test/download/maven-metadata.xml"));
+        publicVault.addArtefact(this.saveArtefact(this.EXISTING_USERNAME_1, this.PUBLIC_VAULT, "org/other/upload/1.2.0-SNAPSHOT/upload-1.2.0-20240125.124348-1.jar"));
+
+        Vault privateVault = Vault
+                .builder()
+                .name(this.PRIVATE_VAULT)
+                .owner(this.EXISTING_USER_2)
+                .build();
+
+        privateVault.isPublic(false);
+        privateVault.addArtefact(this.saveArtefact(this.EXISTING_USERNAME_2, this.PRIVATE_VAULT, "com/test/download/0.0.2-SNAPSHOT/download-0.0.2-20240125.124348-1.jar"));
+
+        this.vaultRepository.saveAll(List.of(publicVault, privateVault));
+    }
+
+    @AfterEach
+    public void teardown() {
+        this.vaultRepository.deleteAll();
+        this.artefactRepository.deleteAll();
+        this.userRepository.deleteAll();
+    }
+
+    private Artefact saveArtefact(String username, String vaultName, String path) {
+        return this.artefactRepository.save(Artefact
+                .builder()
+                .uri(String.format("/mvn/%s/%s/%s", username, vaultName, path))
+                .filename(path)
+                .build());
+    }
+
+    private String getAuthHeaderValue(String username, String rawPassword) {
+        return "Basic " + Base64
+                .getEncoder()
+                .encodeToString((String.format("%s:%s", username, rawPassword).getBytes(StandardCharsets.UTF_8)))
+                .replace("=", "");
+    }
+
+    @SneakyThrows
+    @Test
+    public void findsVersionsOfPublicVaultsByArtifactIdWhenUserIsAnonymous() {
+        this.mockMvc.perform(get("/search").param("artifactId", "down"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].groupId").value("com.test"))
+                .andExpect(jsonPath("$.results[0].artifactId").value("download"))
+                .andExpect(jsonPath("$.results[0].version").value("0.0.1-SNAPSHOT"))
+                .andExpect(jsonPath("$.results[0].uri").value(String.format("/browse/%s/%s/com/test/download/0.0.1-SNAPSHOT", this.EXISTING_USERNAME_1, this.PUBLIC_VAULT)));
+    }
+
+    @SneakyThrows
+    @Test
+    public void findsVersionsOfOwnVaultsWhenUserIsAuthenticated() {
+        this.mockMvc.perform(get("/search")
+                        .param("artifactId", "down")
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME_2, this.EXISTING_PASSWORD_2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[1].version").value("0.0.2-SNAPSHOT"))
+                .andExpect(jsonPath("$.results[1].vault").value(this.PRIVATE_VAULT));
+    }
+
+    @SneakyThrows
+    @Test
+    public void doesNotFindVersionsOfPrivateVaultNamedLikeAPublicVault() {
+        Vault privateVault = Vault
+                .builder()
+                .name(this.PUBLIC_VAULT)
+                .owner(this.EXISTING_USER_2)
+                .build();
+
+        privateVault.isPublic(false);
+        privateVault.addArtefact(this.saveArtefact(this.EXISTING_USERNAME_2, this.PUBLIC_VAULT, "com/test/secret/0.0.3/secret-0.0.3.jar"));
+        this.vaultRepository.save(privateVault);
+
+        this.mockMvc.perform(get("/search").param("artifactId", "secret"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(0));
+
+        this.mockMvc.perform(get("/search")
+                        .param("artifactId", "secret")
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME_1, this.EXISTING_PASSWORD_1)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(0));
+
+        this.mockMvc.perform(get("/search")
+                        .param("artifactId", "secret")
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME_2, this.EXISTING_PASSWORD_2)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].vault").value(this.PUBLIC_VAULT));
+    }
+
+    @SneakyThrows
+    @Test
+    public void matchesAllGivenCoordinatesIgnoringCase() {
+        this.mockMvc.perform(get("/search")
+                        .param("groupId", "ORG.oth")
+                        .param("version", "1.2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].artifactId").value("upload"));
+
+        this.mockMvc.perform(get("/search")
+                        .param("groupId", "org")
+                        .param("version", "0.0.1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(0));
+    }
+
+    @SneakyThrows
+    @Test
+    public void matchesQueriesShorterThanATrigram() {
+        this.mockMvc.perform(get("/search").param("version", "1."))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(1))
+                .andExpect(jsonPath("$.results[0].artifactId").value("upload"));
+    }
+
+    @SneakyThrows
+    @Test
+    public void doesNotFindDeletedVersions() {
+        Vault vault = this.vaultRepository.findVaultByName(this.PUBLIC_VAULT).get();
+        Set<Artefact> artefacts = this.artefactRepository.findAllByParentPath(
+                String.format("/mvn/%s/%s/org/other/upload/1.2.0-SNAPSHOT", this.EXISTING_USERNAME_1, this.PUBLIC_VAULT));
+
+        artefacts.forEach(vault::removeArtefact);
+        this.vaultRepository.save(vault);
+        this.artefactRepository.deleteAll(artefacts);
+
+        this.mockMvc.perform(get("/search").param("artifactId", "upload"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(0));
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns400whenNoCoordinateIsGiven() {
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn("/search");
+
+        this.mockMvc.perform(get("/search"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,331 @@
+package com.personal.microart.rest;
+
+import com.personal.microart.persistence.directorymanager.FileWriter;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
+import com.personal.microart.persistence.entities.Checksums;
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.UserRepository;
+import com.personal.microart.persistence.repositories.VaultRepository;
+import com.personal.microart.rest.controllers.ExchangeAccessor;
+import io.undertow.server.HttpServerExchange;
+import io.vavr.control.Either;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureWebTestClient
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+class UploadBundleTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VaultRepository vaultRepository;
+
+    @Autowired
+    private ArtefactRepository artefactRepository;
+
+    @MockBean
+    private FileWriter fileWriter;
+
+    @MockBean
+    private ExchangeAccessor exchangeAccessor;
+
+    private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+
+    private final byte[] FILE_CONTENTS = new byte[1024];
+
+    private final String EXISTING_EMAIL = "test@test";
+    private final String EXISTING_USERNAME = "test";
+    private final String EXISTING_PASSWORD = "testpass";
+
+    private final String EXISTING_VAULT = "test-vault";
+
+    private final String BUNDLE_URI = String.format("/bundle/%s/%s", this.EXISTING_USERNAME, this.EXISTING_VAULT);
+
+    private final String ARTEFACT_PATH = "com/test/test/0.0.1-SNAPSHOT/test-0.0.1-20240125.124348-1";
+
+    private final MicroartUser EXISTING_USER = MicroartUser
+            .builder()
+            .email(EXISTING_EMAIL)
+            .username(EXISTING_USERNAME)
+            .password(this.passwordEncoder.encode(EXISTING_PASSWORD))
+            .build();
+
+    private WrittenFile writtenFile;
+
+    @BeforeAll
+    @SneakyThrows
+    public void init() {
+        new Random().nextBytes(this.FILE_CONTENTS);
+
+        this.writtenFile = WrittenFile
+                .builder()
+                .filename("dummy written file")
+                .size((long) this.FILE_CONTENTS.length)
+                .checksums(Checksums
+                        .builder()
+                        .md5(this.getChecksum("MD5"))
+                        .sha1(this.getChecksum("SHA-1"))
+                        .sha256(this.getChecksum("SHA-256"))
+                        .sha512(this.getChecksum("SHA-512"))
+                        .build())
+                .build();
+    }
+
+    @BeforeEach
+    public void setup() {
+        this.userRepository.save(this.EXISTING_USER);
+
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
+
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn(this.BUNDLE_URI);
+    }
+
+    @AfterEach
+    public void teardown() {
+        this.vaultRepository.deleteAll();
+        this.artefactRepository.deleteAll();
+        this.userRepository.deleteAll();
+    }
+
+    private String getAuthHeaderValue(String username, String rawPassword) {
+        return "Basic " + Base64
+                .getEncoder()
+                .encodeToString((String.format("%s:%s", username, rawPassword).getBytes(StandardCharsets.UTF_8)))
+                .replace("=", "");
+    }
+
+    @SneakyThrows
+    private String getChecksum(String algorithm) {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(this.FILE_CONTENTS));
+    }
+
+    @SneakyThrows
+    private byte[] zip(Map<String, byte[]> files) {
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zip = new ZipOutputStream(bundle)) {
+            for (Map.Entry<String, byte[]> file : files.entrySet()) {
+                zip.putNextEntry(new ZipEntry(file.getKey()));
+                zip.write(file.getValue());
+                zip.closeEntry();
+            }
+        }
+
+        return bundle.toByteArray();
+    }
+
+    @SneakyThrows
+    private byte[] tar(Map<String, byte[]> files) {
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            bundle.write(this.tarEntry(file.getKey(), '0', file.getValue()));
+        }
+
+        bundle.write(new byte[1024]);
+        return bundle.toByteArray();
+    }
+
+    @SneakyThrows
+    private byte[] tarEntry(String name, char type, byte[] content) {
+        ByteArrayOutputStream entry = new ByteArrayOutputStream();
+
+        byte[] header = new byte[512];
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        System.arraycopy(nameBytes, 0, header, 0, nameBytes.length);
+        System.arraycopy(String.format("%011o\0", content.length).getBytes(StandardCharsets.US_ASCII), 0, header, 124, 12);
+        header[156] = (byte) type;
+        System.arraycopy("ustar\0".getBytes(StandardCharsets.US_ASCII), 0, header, 257, 6);
+
+        entry.write(header);
+        entry.write(content);
+        entry.write(new byte[(512 - content.length % 512) % 512]);
+        return entry.toByteArray();
+    }
+
+    private Map<String, byte[]> getDeployment() {
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        files.put(this.ARTEFACT_PATH + ".jar", this.FILE_CONTENTS);
+        files.put(this.ARTEFACT_PATH + ".jar.sha1", this.writtenFile.getChecksums().getSha1().getBytes(StandardCharsets.US_ASCII));
+        files.put(this.ARTEFACT_PATH + ".pom", this.FILE_CONTENTS);
+
+        return files;
+    }
+
+    @SneakyThrows
+    private MvcResult putBundle(byte[] bundle, String username, String password) {
+        return this.mockMvc.perform(MockMvcRequestBuilders
+                .put(this.BUNDLE_URI)
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(bundle)
+                .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(username, password))
+        ).andReturn();
+    }
+
+    @Test
+    public void returns200andStoresAllFilesOfZipBundle() {
+        MvcResult mvcResult = this.putBundle(this.zip(this.getDeployment()), this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(200, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(1, this.vaultRepository.count());
+        Assertions.assertEquals(2, this.artefactRepository.count());
+        verify(this.fileWriter, times(2)).saveFileToDisk(any(), any());
+    }
+
+    @Test
+    public void returns200andStoresAllFilesOfTarBundle() {
+        MvcResult mvcResult = this.putBundle(this.tar(this.getDeployment()), this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(200, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(1, this.vaultRepository.count());
+        Assertions.assertEquals(2, this.artefactRepository.count());
+        verify(this.fileWriter, times(2)).saveFileToDisk(any(), any());
+    }
+
+    @Test
+    public void returns400andStoresNothingOnInvalidFilenameInBundle() {
+        Map<String, byte[]> files = this.getDeployment();
+        files.put("README.md", this.FILE_CONTENTS);
+
+        MvcResult mvcResult = this.putBundle(this.zip(files), this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.vaultRepository.count());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+    }
+
+    @Test
+    public void returns400andStoresNothingOnMismatchingChecksumInBundle() {
+        Map<String, byte[]> files = this.getDeployment();
+        files.put(this.ARTEFACT_PATH + ".jar.md5", "00000000000000000000000000000000".getBytes(StandardCharsets.US_ASCII));
+
+        MvcResult mvcResult = this.putBundle(this.zip(files), this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+    }
+
+    @Test
+    public void returns400onBundleThatIsNotAnArchive() {
+        byte[] notAnArchive = Arrays.copyOf(this.FILE_CONTENTS, this.FILE_CONTENTS.length);
+        notAnArchive[0] = 0;
+
+        MvcResult mvcResult = this.putBundle(notAnArchive, this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+        verify(this.fileWriter, never()).saveFileToDisk(any(), any());
+    }
+
+    @Test
+    public void returns400andStoresNothingOnMalformedTarHeader() {
+        byte[] bundle = this.tar(this.getDeployment());
+        System.arraycopy("89abcdefxyz\0".getBytes(StandardCharsets.US_ASCII), 0, bundle, 124, 12);
+
+        MvcResult mvcResult = this.putBundle(bundle, this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+        verify(this.fileWriter, never()).saveFileToDisk(any(), any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void returns400andStoresNothingOnOversizedLongNameInTarBundle() {
+        byte[] longName = new byte[64 * 1024 + 1];
+        Arrays.fill(longName, (byte) 'a');
+
+        ByteArrayOutputStream bundle = new ByteArrayOutputStream();
+        bundle.write(this.tarEntry("././@LongLink", 'L', longName));
+        bundle.write(this.tar(this.getDeployment()));
+
+        MvcResult mvcResult = this.putBundle(bundle.toByteArray(), this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+        verify(this.fileWriter, never()).saveFileToDisk(any(), any());
+    }
+
+    @Test
+    public void returns400andStoresNothingOnTruncatedTarBundle() {
+        byte[] bundle = this.tar(this.getDeployment());
+        int secondHeaderOffset = 512 + this.FILE_CONTENTS.length;
+
+        MvcResult mvcResult = this.putBundle(Arrays.copyOf(bundle, secondHeaderOffset + 100), this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+    }
+
+    @Test
+    public void returns400andStoresNothingOnTarBundleWithoutEndOfArchive() {
+        byte[] bundle = this.tar(this.getDeployment());
+
+        MvcResult mvcResult = this.putBundle(Arrays.copyOf(bundle, bundle.length - 1024), this.EXISTING_USERNAME, this.EXISTING_PASSWORD);
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+    }
+
+    @Test
+    public void returns403onBundleUploadInNotOwnVault() {
+        MicroartUser newUser = MicroartUser
+                .builder()
+                .email("new@new")
+                .username("newUser")
+                .password(this.passwordEncoder.encode("newPassword"))
+                .build();
+
+        this.userRepository.save(newUser);
+
+        MvcResult mvcResult = this.putBundle(this.zip(this.getDeployment()), "newUser", "newPassword");
+
+        Assertions.assertEquals(403, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(0, this.artefactRepository.count());
+        verify(this.fileWriter, never()).saveFileToDisk(any(), any());
+    }
+}
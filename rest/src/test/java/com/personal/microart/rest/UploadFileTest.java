@@ -1,9 +1,12 @@
 package com.personal.microart.rest;
 
 import com.personal.microart.api.operations.file.upload.UploadFileInput;
+import com.personal.microart.core.auth.BoundedPasswordEncoder;
+import com.personal.microart.persistence.entities.Checksums;
 import com.personal.microart.persistence.entities.MicroartUser;
 import com.personal.microart.persistence.entities.Vault;
 import com.personal.microart.persistence.directorymanager.FileWriter;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
 import com.personal.microart.persistence.repositories.ArtefactRepository;
 import com.personal.microart.persistence.repositories.UserRepository;
 import com.personal.microart.persistence.repositories.VaultRepository;
@@ -22,6 +25,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -32,13 +36,21 @@ import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.Base64;
+import java.util.HexFormat;
 import java.util.Random;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Stream;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -55,7 +67,7 @@ class UploadFileTest {
     @Autowired
     private UserRepository userRepository;
 
-    @Autowired
+    @SpyBean
     private VaultRepository vaultRepository;
 
     @Autowired
@@ -67,6 +79,9 @@ class UploadFileTest {
     @MockBean
     private ExchangeAccessor exchangeAccessor;
 
+    @SpyBean
+    private BoundedPasswordEncoder boundedPasswordEncoder;
+
     private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     private final byte[] FILE_CONTENTS = new byte[1024];
@@ -86,13 +101,28 @@ class UploadFileTest {
     private final UploadFileInput VALID_INPUT = UploadFileInput
             .builder()
             .uri(String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/mrt-0.0.4-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT))
-            .content(this.FILE_CONTENTS)
             .authentication(getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
             .build();
 
+    private WrittenFile writtenFile;
+
     @BeforeAll
+    @SneakyThrows
     public void init() {
         new Random().nextBytes(this.FILE_CONTENTS);
+
+        this.writtenFile = WrittenFile
+                .builder()
+                .filename("dummy written file")
+                .size((long) this.FILE_CONTENTS.length)
+                .checksums(Checksums
+                        .builder()
+                        .md5(this.getChecksum("MD5"))
+                        .sha1(this.getChecksum("SHA-1"))
+                        .sha256(this.getChecksum("SHA-256"))
+                        .sha512(this.getChecksum("SHA-512"))
+                        .build())
+                .build();
     }
 
     @BeforeEach
@@ -118,6 +148,11 @@ class UploadFileTest {
         return "Basic " + this.encodeCredentials(username, rawPassword);
     }
 
+    @SneakyThrows
+    private String getChecksum(String algorithm) {
+        return HexFormat.of().formatHex(MessageDigest.getInstance(algorithm).digest(this.FILE_CONTENTS));
+    }
+
     @Test
     @SneakyThrows
     public void returns403onAnonymousUser() {
@@ -128,7 +163,7 @@ class UploadFileTest {
 
         mockMvc.perform(MockMvcRequestBuilders.put(this.VALID_INPUT.getUri())
                         .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .content(this.VALID_INPUT.getContent()))
+                        .content(this.FILE_CONTENTS))
                 .andExpect(status().isForbidden());
     }
 
@@ -142,7 +177,7 @@ class UploadFileTest {
 
         mockMvc.perform(MockMvcRequestBuilders.put(this.VALID_INPUT.getUri())
                         .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                        .content(this.VALID_INPUT.getContent())
+                        .content(this.FILE_CONTENTS)
                         .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue("invalid", "invalidPass")))
                 .andExpect(status().isForbidden());
     }
@@ -155,7 +190,7 @@ class UploadFileTest {
         String PASSWORD = "newPassword";
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
         when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
@@ -184,7 +219,7 @@ class UploadFileTest {
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(USER_NAME, PASSWORD))
         ).andReturn();
 
@@ -192,6 +227,7 @@ class UploadFileTest {
         Assertions.assertEquals(1, this.vaultRepository.count());
         Assertions.assertEquals(2, this.userRepository.count());
         Assertions.assertEquals(0, this.artefactRepository.count());
+        verify(this.fileWriter, never()).saveFileToDisk(any(), any());
     }
 
     @SneakyThrows
@@ -202,7 +238,7 @@ class UploadFileTest {
         String PASSWORD = "newPassword";
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         Vault vault = Vault
                 .builder()
@@ -224,7 +260,7 @@ class UploadFileTest {
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(USER_NAME, PASSWORD))
         ).andReturn();
 
@@ -239,7 +275,7 @@ class UploadFileTest {
     public void returns200onUploadInExistingOwnVault() {
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         Vault vault = Vault
                 .builder()
@@ -252,7 +288,7 @@ class UploadFileTest {
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
         ).andReturn();
 
@@ -262,17 +298,43 @@ class UploadFileTest {
         Assertions.assertEquals(1, this.artefactRepository.count());
     }
 
+    @SneakyThrows
+    @Test
+    public void linksArtefactWithoutLoadingVault() {
+        String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
+
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
+
+        Vault vault = Vault
+                .builder()
+                .owner(this.userRepository.findByUsername(this.EXISTING_USERNAME).get())
+                .name(this.EXISTING_VAULT)
+                .build();
+
+        this.vaultRepository.save(vault);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put(URI)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isOk());
+
+        verify(this.vaultRepository, never()).findVaultByName(any());
+        Assertions.assertEquals(URI, this.vaultRepository.findVaultByName(this.EXISTING_VAULT).get().getArtefacts().get(0).getUri());
+    }
+
     @SneakyThrows
     @Test
     public void returns200onUploadInNonExistingOwnVault() {
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
         ).andReturn();
 
@@ -282,6 +344,25 @@ class UploadFileTest {
         Assertions.assertEquals(1, this.artefactRepository.count());
     }
 
+    @SneakyThrows
+    @Test
+    public void storesParentPathOfUploadedArtefact() {
+        String PARENT_PATH = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT", this.EXISTING_USERNAME, this.EXISTING_VAULT);
+        String URI = PARENT_PATH + "/new-20240125.124348-1.jar";
+
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put(URI)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isOk());
+
+        Assertions.assertEquals(1, this.artefactRepository.findAllByParentPath(PARENT_PATH).size());
+        Assertions.assertEquals(URI, this.artefactRepository.findAllByParentPath(PARENT_PATH).iterator().next().getUri());
+    }
+
     @SneakyThrows
     @Test
     public void returns403onUploadInNonExistingNotOwnVault() {
@@ -290,7 +371,7 @@ class UploadFileTest {
         String PASSWORD = "newPassword";
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
         when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
@@ -309,7 +390,7 @@ class UploadFileTest {
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(USER_NAME, PASSWORD))
         ).andReturn();
 
@@ -325,7 +406,7 @@ class UploadFileTest {
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
         String DUPLICATE_URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-2.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
         when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
@@ -342,13 +423,13 @@ class UploadFileTest {
         mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)));
 
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(DUPLICATE_URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
         ).andReturn();
 
@@ -363,7 +444,7 @@ class UploadFileTest {
     public void returns200onReplacingFileWhenUploadingInExistingOwnVault() {
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
         when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
@@ -381,13 +462,13 @@ class UploadFileTest {
         mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)));
 
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
         ).andReturn();
 
@@ -456,7 +537,7 @@ class UploadFileTest {
     public void returns400onInvalidFilenameWhenUploadingInExistingOwnVault(String value) {
         String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/%s", this.EXISTING_USERNAME, this.EXISTING_VAULT, value);
 
-        when(this.fileWriter.saveFileToDisk(any())).thenReturn(Either.right("dummy written file"));
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
 
         HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
         when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
@@ -474,7 +555,7 @@ class UploadFileTest {
         MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
                 .put(URI)
                 .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                .content(this.VALID_INPUT.getContent())
+                .content(this.FILE_CONTENTS)
                 .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
         ).andReturn();
 
@@ -483,4 +564,130 @@ class UploadFileTest {
         Assertions.assertEquals(1, this.userRepository.count());
         Assertions.assertEquals(0, this.artefactRepository.count());
     }
-}
\ No newline at end of file
+
+    @SneakyThrows
+    @Test
+    public void returns200andStoresNothingOnUploadOfMatchingChecksum() {
+        String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
+
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put(URI)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isOk());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .put(URI + ".sha1")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(this.writtenFile.getChecksums().getSha1().getBytes(StandardCharsets.US_ASCII))
+                .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
+        ).andReturn();
+
+        Assertions.assertEquals(200, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(1, this.artefactRepository.count());
+        verify(this.fileWriter, times(1)).saveFileToDisk(any(), any());
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns400onUploadOfMismatchingChecksum() {
+        String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
+
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
+
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn(URI + ".md5");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put(URI)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isOk());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders
+                .put(URI + ".md5")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content("00000000000000000000000000000000".getBytes(StandardCharsets.US_ASCII))
+                .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD))
+        ).andReturn();
+
+        Assertions.assertEquals(400, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(1, this.artefactRepository.count());
+    }
+
+    @SneakyThrows
+    @Test
+    public void returnsStoredChecksumOnDownloadOfChecksumFile() {
+        String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
+
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
+
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn(URI + ".sha256");
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put(URI)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isOk());
+
+        MvcResult mvcResult = mockMvc.perform(MockMvcRequestBuilders.get(URI + ".sha256")).andReturn();
+
+        Assertions.assertEquals(200, mvcResult.getResponse().getStatus());
+        Assertions.assertEquals(this.writtenFile.getChecksums().getSha256(), mvcResult.getResponse().getContentAsString());
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns403onCachedCredentialsAfterPasswordChange() {
+        String URI = String.format("/mvn/%s/%s/com/test/test/0.0.1-SNAPSHOT/new-20240125.124348-1.jar", this.EXISTING_USERNAME, this.EXISTING_VAULT);
+
+        when(this.fileWriter.saveFileToDisk(any(), any())).thenReturn(Either.right(this.writtenFile));
+
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn(URI);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put(URI)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isOk());
+
+        MicroartUser user = this.userRepository.findByUsername(this.EXISTING_USERNAME).get();
+        user.setPassword(this.passwordEncoder.encode("changedpass"));
+        this.userRepository.save(user);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .put(URI)
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, this.EXISTING_PASSWORD)))
+                .andExpect(status().isForbidden());
+    }
+
+    @SneakyThrows
+    @Test
+    public void returns503withRetryAfterWhenPasswordHashingIsBusy() {
+        doThrow(new RejectedExecutionException()).when(this.boundedPasswordEncoder).matches(any(), any());
+
+        mockMvc.perform(MockMvcRequestBuilders.put(this.VALID_INPUT.getUri())
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(this.FILE_CONTENTS)
+                        .header(HttpHeaders.AUTHORIZATION, this.getAuthHeaderValue(this.EXISTING_USERNAME, "notcachedpass")))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+
+        verify(this.fileWriter, never()).saveFileToDisk(any(), any());
+    }
+}
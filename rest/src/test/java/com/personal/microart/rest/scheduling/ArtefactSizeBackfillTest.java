@@ -0,0 +1,77 @@
+package com.personal.microart.rest.scheduling;
+
+import com.personal.microart.core.scheduling.tasks.ArtefactSizeBackfill;
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class ArtefactSizeBackfillTest {
+
+    @Autowired
+    private ArtefactSizeBackfill artefactSizeBackfill;
+
+    @Autowired
+    private ArtefactRepository artefactRepository;
+
+    @Value("${SAVE_LOCATION}")
+    private String SAVE_LOCATION;
+
+    @AfterEach
+    public void tearDown() {
+        this.artefactRepository.deleteAll();
+    }
+
+    @SneakyThrows
+    private String writeFile(int size) {
+        String filename = "backfill/" + UUID.randomUUID();
+        Path file = Path.of(this.SAVE_LOCATION, filename);
+
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[size]);
+        file.toFile().deleteOnExit();
+
+        return filename;
+    }
+
+    private Artefact saveLegacyArtefact(String name, String filename) {
+        return this.artefactRepository.save(Artefact
+                .builder()
+                .uri("/mvn/testusername/test-vault/com/test/backfill/0.0.1/" + name)
+                .filename(filename)
+                .build());
+    }
+
+    @Test
+    public void fillsInSizesOfLegacyArtefactsAndSkipsMissingFiles() {
+        Artefact missing = this.saveLegacyArtefact("missing-0.0.1.jar", "backfill/" + UUID.randomUUID());
+        Artefact jar = this.saveLegacyArtefact("backfill-0.0.1.jar", this.writeFile(3));
+        Artefact pom = this.saveLegacyArtefact("backfill-0.0.1.pom", this.writeFile(5));
+
+        this.artefactSizeBackfill.backfill();
+
+        assertNull(this.artefactRepository.findById(missing.getId()).get().getSize());
+        assertEquals(3L, this.artefactRepository.findById(jar.getId()).get().getSize());
+        assertEquals(5L, this.artefactRepository.findById(pom.getId()).get().getSize());
+    }
+}
@@ -0,0 +1,82 @@
+package com.personal.microart.rest.scheduling;
+
+import com.personal.microart.core.scheduling.tasks.ExpiredJwtsDeleter;
+import com.personal.microart.persistence.blacklist.JwtBlacklist;
+import com.personal.microart.persistence.entities.BlacklistedJwt;
+import com.personal.microart.persistence.repositories.BlacklistedJwtRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class ExpiredJwtsDeleterTest {
+
+    @Autowired
+    private ExpiredJwtsDeleter expiredJwtsDeleter;
+
+    @Autowired
+    private BlacklistedJwtRepository blacklistedJwtRepository;
+
+    @Autowired
+    private JwtBlacklist jwtBlacklist;
+
+    private final String VALID_TOKEN = "valid.token.value";
+    private final String EXPIRED_TOKEN = "expired.token.value";
+
+    @BeforeEach
+    public void setUp() {
+        BlacklistedJwt valid = BlacklistedJwt
+                .builder()
+                .token(this.VALID_TOKEN)
+                .validity(LocalDateTime.now(ZoneOffset.UTC).plusDays(1))
+                .build();
+
+        BlacklistedJwt expired = BlacklistedJwt
+                .builder()
+                .token(this.EXPIRED_TOKEN)
+                .validity(LocalDateTime.now(ZoneOffset.UTC).minusDays(1))
+                .build();
+
+        this.blacklistedJwtRepository.saveAll(List.of(valid, expired));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.blacklistedJwtRepository.deleteAll();
+    }
+
+    @Test
+    public void keepsSavedTokensInMemory() {
+        assertTrue(this.jwtBlacklist.contains(this.VALID_TOKEN));
+        assertTrue(this.jwtBlacklist.contains(this.EXPIRED_TOKEN));
+        assertFalse(this.jwtBlacklist.contains("unknown.token.value"));
+    }
+
+    @Test
+    public void testRunScheduledTask() {
+        this.expiredJwtsDeleter.runScheduledTask();
+
+        assertEquals(1, this.blacklistedJwtRepository.count());
+        assertEquals(this.VALID_TOKEN, this.blacklistedJwtRepository.findAll().get(0).getToken());
+        assertTrue(this.jwtBlacklist.contains(this.VALID_TOKEN));
+        assertFalse(this.jwtBlacklist.contains(this.EXPIRED_TOKEN));
+    }
+}
@@ -5,7 +5,9 @@ import com.personal.microart.persistence.directorymanager.Directory;
 import com.personal.microart.persistence.directorymanager.DirectoryManager;
 import com.personal.microart.persistence.directorymanager.FileDeleter;
 import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.entities.StoredBlob;
 import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.StoredBlobRepository;
 import io.vavr.control.Either;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -35,6 +37,9 @@ public class OrphanedFilesDeleterTest {
     @Autowired
     private ArtefactRepository artefactRepository;
 
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
     @SpyBean
     private FileDeleter fileDeleter;
 
@@ -63,4 +68,18 @@ public class OrphanedFilesDeleterTest {
         this.orphanedFilesDeleter.runScheduledTask();
         verify(this.fileDeleter, times(2)).delete(anyString());
     }
+
+    @Test
+    public void keepsFilesThatAreStillReferenced() {
+        String sha256 = "a".repeat(64);
+        String filename = "dir3/" + sha256;
+
+        when(directoryManager.getAllFiles()).thenReturn(Either.right(List.of(new Directory("dir3", new String[]{sha256}))));
+        this.storedBlobRepository.save(StoredBlob.builder().sha256(sha256).build().acquire(filename));
+
+        this.orphanedFilesDeleter.runScheduledTask();
+        verify(this.fileDeleter, never()).delete(anyString());
+
+        this.storedBlobRepository.deleteById(sha256);
+    }
 }
@@ -0,0 +1,138 @@
+package com.personal.microart.rest.scheduling;
+
+import com.personal.microart.core.scheduling.tasks.UploadJournalRecovery;
+import com.personal.microart.persistence.directorymanager.JournalEntry;
+import com.personal.microart.persistence.directorymanager.UploadJournal;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
+import com.personal.microart.persistence.entities.Artefact;
+import com.personal.microart.persistence.entities.Checksums;
+import com.personal.microart.persistence.entities.MicroartUser;
+import com.personal.microart.persistence.entities.Vault;
+import com.personal.microart.persistence.repositories.ArtefactRepository;
+import com.personal.microart.persistence.repositories.UserRepository;
+import com.personal.microart.persistence.repositories.VaultRepository;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class UploadJournalRecoveryTest {
+
+    @Autowired
+    private UploadJournalRecovery uploadJournalRecovery;
+
+    @Autowired
+    private UploadJournal uploadJournal;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private VaultRepository vaultRepository;
+
+    @SpyBean
+    private ArtefactRepository artefactRepository;
+
+    @Value("${SAVE_LOCATION}")
+    private String SAVE_LOCATION;
+
+    private final String USERNAME = "testusername";
+    private final String VAULT = "test-vault";
+    private final String FAILING_URI = String.format("/mvn/%s/%s/com/test/failing/0.0.1/failing-0.0.1.jar", this.USERNAME, this.VAULT);
+    private final String RECOVERED_URI = String.format("/mvn/%s/%s/com/test/recovered/0.0.1/recovered-0.0.1.jar", this.USERNAME, this.VAULT);
+
+    private JournalEntry failingEntry;
+    private JournalEntry recoveredEntry;
+
+    @BeforeEach
+    public void setUp() {
+        MicroartUser user = this.userRepository.save(MicroartUser
+                .builder()
+                .email("test@test")
+                .username(this.USERNAME)
+                .password("testpass")
+                .build());
+
+        this.vaultRepository.save(Vault.builder().name(this.VAULT).owner(user).build());
+
+        this.failingEntry = this.writeEntry(this.FAILING_URI);
+        this.recoveredEntry = this.writeEntry(this.RECOVERED_URI);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.uploadJournal.close(this.failingEntry.getId());
+        this.uploadJournal.close(this.recoveredEntry.getId());
+
+        this.vaultRepository.deleteAll();
+        this.artefactRepository.deleteAll();
+        this.userRepository.deleteAll();
+    }
+
+    @SneakyThrows
+    private JournalEntry writeEntry(String uri) {
+        String filename = "recovery/" + UUID.randomUUID();
+        Path file = Path.of(this.SAVE_LOCATION, filename);
+
+        Files.createDirectories(file.getParent());
+        Files.write(file, new byte[]{1, 2, 3});
+        file.toFile().deleteOnExit();
+
+        JournalEntry entry = this.uploadJournal.open(uri, filename + ".tmp").get();
+
+        return this.uploadJournal.complete(entry, WrittenFile.builder()
+                        .filename(filename)
+                        .size(3L)
+                        .checksums(Checksums.builder().sha256("a".repeat(64)).build())
+                        .build())
+                .get();
+    }
+
+    private List<String> getOpenEntries() {
+        return this.uploadJournal.getEntries()
+                .get()
+                .stream()
+                .map(JournalEntry::getId)
+                .toList();
+    }
+
+    @Test
+    public void keepsFailedEntryOpenAndRecoversTheOthers() {
+        doThrow(new IllegalStateException())
+                .when(this.artefactRepository)
+                .save(argThat((Artefact artefact) -> artefact != null && this.FAILING_URI.equals(artefact.getUri())));
+
+        this.uploadJournalRecovery.recover();
+
+        assertTrue(this.artefactRepository.findArtefactByUri(this.FAILING_URI).isEmpty());
+        assertTrue(this.getOpenEntries().contains(this.failingEntry.getId()));
+
+        assertTrue(this.artefactRepository.findArtefactByUri(this.RECOVERED_URI).isPresent());
+        assertFalse(this.getOpenEntries().contains(this.recoveredEntry.getId()));
+        assertEquals(1, this.vaultRepository.findVaultByName(this.VAULT).get().getArtefacts().size());
+    }
+}
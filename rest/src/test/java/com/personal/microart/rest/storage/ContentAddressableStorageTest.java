@@ -0,0 +1,128 @@
+package com.personal.microart.rest.storage;
+
+import com.personal.microart.persistence.directorymanager.FileWriter;
+import com.personal.microart.persistence.directorymanager.UploadJournal;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
+import com.personal.microart.persistence.errors.PersistenceError;
+import com.personal.microart.persistence.repositories.StoredBlobRepository;
+import io.vavr.control.Either;
+import io.vavr.control.Try;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "CONTENT_ADDRESSABLE_STORAGE=true")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class ContentAddressableStorageTest {
+    private static final Path SAVE_LOCATION = createSaveLocation();
+    private static final int CONCURRENT_UPLOADS = 4;
+
+    @Autowired
+    private FileWriter fileWriter;
+
+    @Autowired
+    private UploadJournal uploadJournal;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void saveLocation(DynamicPropertyRegistry registry) {
+        registry.add("SAVE_LOCATION", SAVE_LOCATION::toString);
+    }
+
+    @SneakyThrows
+    private static Path createSaveLocation() {
+        Path saveLocation = Files.createTempDirectory("mavrep");
+        saveLocation.toFile().deleteOnExit();
+
+        return saveLocation;
+    }
+
+    private WrittenFile upload(String uri, byte[] content) {
+        Either<PersistenceError, WrittenFile> writtenFile = new TransactionTemplate(this.transactionManager)
+                .execute(status -> this.fileWriter.saveFileToDisk(uri, new ByteArrayInputStream(content)));
+
+        this.uploadJournal.close(writtenFile.get().getJournalEntry());
+        return writtenFile.get();
+    }
+
+    @Test
+    public void storesIdenticalContentOnce() {
+        byte[] content = new byte[1024];
+        new Random().nextBytes(content);
+
+        WrittenFile first = this.upload("/mvn/test/vault-1/com/test/test/0.0.1/test-0.0.1.jar", content);
+        WrittenFile second = this.upload("/mvn/test/vault-2/com/test/test/0.0.1/test-0.0.1.jar", content);
+
+        assertEquals(first.getFilename(), second.getFilename());
+        assertTrue(first.getFilename().endsWith(first.getChecksums().getSha256()));
+        assertTrue(Files.exists(SAVE_LOCATION.resolve(first.getFilename())));
+        assertEquals(2L, this.storedBlobRepository.findById(first.getChecksums().getSha256()).get().getReferenceCount());
+    }
+
+    @Test
+    @SneakyThrows
+    public void storesContentUploadedConcurrentlyForTheFirstTimeOnce() {
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_UPLOADS);
+
+        try {
+            for (int round = 0; round < 10; round++) {
+                byte[] content = new byte[1024];
+                new Random().nextBytes(content);
+
+                CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_UPLOADS);
+                int currentRound = round;
+
+                List<Future<WrittenFile>> uploads = IntStream.range(0, CONCURRENT_UPLOADS)
+                        .mapToObj(vault -> executor.submit(() -> {
+                            barrier.await();
+                            return this.upload(String.format("/mvn/test/vault-%d/com/test/concurrent/%d/concurrent-%d.jar", vault, currentRound, currentRound), content);
+                        }))
+                        .toList();
+
+                List<String> filenames = uploads.stream()
+                        .map(upload -> Try.of(upload::get).get().getFilename())
+                        .distinct()
+                        .toList();
+
+                assertEquals(1, filenames.size());
+                assertTrue(Files.exists(SAVE_LOCATION.resolve(filenames.get(0))));
+
+                String sha256 = filenames.get(0).substring(filenames.get(0).lastIndexOf('/') + 1);
+                assertEquals((long) CONCURRENT_UPLOADS, this.storedBlobRepository.findById(sha256).get().getReferenceCount());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.personal.microart.rest.storage;
+
+import com.personal.microart.persistence.directorymanager.DefaultDirectoryManager;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = {
+        "MAXIMUM_DIRECTORY_ITEMS_COUNT=100",
+        "MAXIMUM_DIRECTORY_SIZE_MB=1"
+})
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class DirectoryManagerTest {
+    private static final Path SAVE_LOCATION = createSaveLocation();
+    private static final int MAXIMUM_DIRECTORY_ITEMS_COUNT = 100;
+    private static final int CONCURRENT_UPLOADS = 4;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @DynamicPropertySource
+    static void saveLocation(DynamicPropertyRegistry registry) {
+        registry.add("SAVE_LOCATION", SAVE_LOCATION::toString);
+    }
+
+    @SneakyThrows
+    private static Path createSaveLocation() {
+        Path saveLocation = Files.createTempDirectory("mavrep");
+        saveLocation.toFile().deleteOnExit();
+
+        return saveLocation;
+    }
+
+    @BeforeEach
+    @SneakyThrows
+    public void setUp() {
+        FileSystemUtils.deleteRecursively(SAVE_LOCATION);
+        Files.createDirectories(SAVE_LOCATION);
+    }
+
+    /**
+     * A new manager scans the save location like the application does at startup.
+     */
+    private DefaultDirectoryManager startDirectoryManager() {
+        return this.beanFactory.createBean(DefaultDirectoryManager.class);
+    }
+
+    @SneakyThrows
+    private void createFile(String directory, String name, long size) {
+        Files.createDirectories(SAVE_LOCATION.resolve(directory));
+
+        try (RandomAccessFile file = new RandomAccessFile(SAVE_LOCATION.resolve(directory).resolve(name).toFile(), "rw")) {
+            file.setLength(size);
+        }
+    }
+
+    private String upload(DefaultDirectoryManager directoryManager, int count) {
+        for (int i = 0; i < count; i++) {
+            directoryManager.updateActiveDirectory(directoryManager.getActiveDirectory().get(), "file-" + i, 1L);
+        }
+
+        return directoryManager.getActiveDirectory().get();
+    }
+
+    @Test
+    public void startsInFirstDirectoryOnEmptySaveLocation() {
+        DefaultDirectoryManager directoryManager = this.startDirectoryManager();
+
+        assertEquals("00", directoryManager.getActiveDirectory().get());
+        assertTrue(Files.isDirectory(SAVE_LOCATION.resolve("00")));
+    }
+
+    @Test
+    public void continuesCountingFilesOfLastDirectoryAtStartup() {
+        this.createFile("00", "old", 1);
+        this.createFile("1fe", "odd-length-name", 1);
+        this.createFile("zz", "not-a-number", 1);
+        IntStream.range(0, MAXIMUM_DIRECTORY_ITEMS_COUNT - 2).forEach(i -> this.createFile("01", "existing-" + i, 1));
+
+        DefaultDirectoryManager directoryManager = this.startDirectoryManager();
+
+        assertEquals("01", directoryManager.getActiveDirectory().get());
+        assertEquals("01", this.upload(directoryManager, 1));
+        assertEquals("02", this.upload(directoryManager, 1));
+    }
+
+    @Test
+    public void continuesSummingSizeOfLastDirectoryAtStartup() {
+        this.createFile("00", "existing", 2 * 1024 * 1024);
+
+        DefaultDirectoryManager directoryManager = this.startDirectoryManager();
+
+        assertEquals("00", directoryManager.getActiveDirectory().get());
+        assertEquals("01", this.upload(directoryManager, 1));
+    }
+
+    @Test
+    public void rollsOverWhenMaximumItemsCountIsReached() {
+        DefaultDirectoryManager directoryManager = this.startDirectoryManager();
+
+        assertEquals("00", this.upload(directoryManager, MAXIMUM_DIRECTORY_ITEMS_COUNT - 1));
+        assertEquals("01", this.upload(directoryManager, 1));
+        assertTrue(Files.isDirectory(SAVE_LOCATION.resolve("01")));
+    }
+
+    @Test
+    public void rollsOverWhenMaximumSizeIsReached() {
+        DefaultDirectoryManager directoryManager = this.startDirectoryManager();
+
+        directoryManager.updateActiveDirectory("00", "small", 1024L * 1024);
+        assertEquals("00", directoryManager.getActiveDirectory().get());
+
+        directoryManager.updateActiveDirectory("00", "large", 1024L * 1024);
+        assertEquals("01", directoryManager.getActiveDirectory().get());
+        assertTrue(Files.isDirectory(SAVE_LOCATION.resolve("01")));
+    }
+
+    @Test
+    @SneakyThrows
+    public void countsEveryConcurrentUploadOnce() {
+        DefaultDirectoryManager directoryManager = this.startDirectoryManager();
+        int uploadsPerThread = (MAXIMUM_DIRECTORY_ITEMS_COUNT - 1) / CONCURRENT_UPLOADS;
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_UPLOADS);
+
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_UPLOADS);
+
+            List<Future<?>> uploads = IntStream.range(0, CONCURRENT_UPLOADS)
+                    .<Future<?>>mapToObj(thread -> executor.submit(() -> {
+                        barrier.await();
+
+                        for (int i = 0; i < uploadsPerThread; i++) {
+                            directoryManager.updateActiveDirectory("00", "file-" + thread + "-" + i, 1L);
+                        }
+
+                        return null;
+                    }))
+                    .toList();
+
+            for (Future<?> upload : uploads) {
+                upload.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int remainingUploads = MAXIMUM_DIRECTORY_ITEMS_COUNT - 1 - uploadsPerThread * CONCURRENT_UPLOADS;
+
+        assertEquals("00", this.upload(directoryManager, remainingUploads));
+        assertEquals("01", this.upload(directoryManager, 1));
+    }
+
+    @Test
+    @SneakyThrows
+    public void rollsOverOnceWhenConcurrentUploadsReachTheLimit() {
+        DefaultDirectoryManager directoryManager = this.startDirectoryManager();
+        this.upload(directoryManager, MAXIMUM_DIRECTORY_ITEMS_COUNT - 2);
+
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_UPLOADS);
+
+        try {
+            CyclicBarrier barrier = new CyclicBarrier(CONCURRENT_UPLOADS);
+
+            List<Future<?>> uploads = IntStream.range(0, CONCURRENT_UPLOADS)
+                    .<Future<?>>mapToObj(thread -> executor.submit(() -> {
+                        barrier.await();
+                        return directoryManager.updateActiveDirectory("00", "file-" + thread, 1L);
+                    }))
+                    .toList();
+
+            for (Future<?> upload : uploads) {
+                upload.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals("01", directoryManager.getActiveDirectory().get());
+        assertFalse(Files.exists(SAVE_LOCATION.resolve("02")));
+    }
+}
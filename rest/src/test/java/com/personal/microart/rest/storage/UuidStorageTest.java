@@ -0,0 +1,89 @@
+package com.personal.microart.rest.storage;
+
+import com.personal.microart.persistence.directorymanager.FileWriter;
+import com.personal.microart.persistence.directorymanager.UploadJournal;
+import com.personal.microart.persistence.directorymanager.WrittenFile;
+import com.personal.microart.persistence.errors.PersistenceError;
+import com.personal.microart.persistence.repositories.StoredBlobRepository;
+import io.vavr.control.Either;
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jdbc.EmbeddedDatabaseConnection;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+@SpringBootTest(properties = "CONTENT_ADDRESSABLE_STORAGE=false")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@ExtendWith(SpringExtension.class)
+@AutoConfigureTestDatabase(connection = EmbeddedDatabaseConnection.H2)
+public class UuidStorageTest {
+    private static final Path SAVE_LOCATION = createSaveLocation();
+
+    @Autowired
+    private FileWriter fileWriter;
+
+    @Autowired
+    private UploadJournal uploadJournal;
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @DynamicPropertySource
+    static void saveLocation(DynamicPropertyRegistry registry) {
+        registry.add("SAVE_LOCATION", SAVE_LOCATION::toString);
+    }
+
+    @SneakyThrows
+    private static Path createSaveLocation() {
+        Path saveLocation = Files.createTempDirectory("mavrep");
+        saveLocation.toFile().deleteOnExit();
+
+        return saveLocation;
+    }
+
+    private WrittenFile upload(String uri, byte[] content) {
+        Either<PersistenceError, WrittenFile> writtenFile = new TransactionTemplate(this.transactionManager)
+                .execute(status -> this.fileWriter.saveFileToDisk(uri, new ByteArrayInputStream(content)));
+
+        this.uploadJournal.close(writtenFile.get().getJournalEntry());
+        return writtenFile.get();
+    }
+
+    @Test
+    @SneakyThrows
+    public void storesEveryUploadInItsOwnFile() {
+        byte[] content = new byte[1024];
+        new Random().nextBytes(content);
+
+        WrittenFile first = this.upload("/mvn/test/vault-1/com/test/test/0.0.1/test-0.0.1.jar", content);
+        WrittenFile second = this.upload("/mvn/test/vault-2/com/test/test/0.0.1/test-0.0.1.jar", content);
+
+        assertNotEquals(first.getFilename(), second.getFilename());
+        assertDoesNotThrow(() -> UUID.fromString(first.getFilename().substring(first.getFilename().lastIndexOf('/') + 1)));
+        assertArrayEquals(content, Files.readAllBytes(SAVE_LOCATION.resolve(first.getFilename())));
+        assertArrayEquals(content, Files.readAllBytes(SAVE_LOCATION.resolve(second.getFilename())));
+        assertFalse(this.storedBlobRepository.existsById(first.getChecksums().getSha256()));
+    }
+}
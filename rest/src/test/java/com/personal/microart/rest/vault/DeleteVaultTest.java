@@ -22,6 +22,7 @@ import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWeb
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.SpyBean;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.http.MediaType;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
@@ -36,6 +37,8 @@ import java.util.List;
 import static com.personal.microart.rest.Endpoints.VAULT;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -55,7 +58,7 @@ public class DeleteVaultTest {
     @Autowired
     private VaultRepository vaultRepository;
 
-    @Autowired
+    @SpyBean
     private ArtefactRepository artefactRepository;
 
     private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
@@ -159,12 +162,38 @@ public class DeleteVaultTest {
 
         assertEquals(0, this.vaultRepository.count());
 
-        long nullArtefacts = this.artefactRepository
-                .findAll()
-                .stream()
-                .filter(artefact -> artefact.getFilename() == null)
-                .count();
-        assertEquals(2, nullArtefacts);
+        assertEquals(0, this.artefactRepository.count());
+    }
+
+    @SneakyThrows
+    @Test
+    public void keepsVaultAndArtefactsWhenDeletionFails() {
+        HttpServerExchange httpServerExchange = mock(HttpServerExchange.class);
+        when(this.exchangeAccessor.getExchange(any())).thenReturn(httpServerExchange);
+        when(httpServerExchange.setReasonPhrase(any(String.class))).thenReturn(httpServerExchange);
+        when(httpServerExchange.getRequestURI()).thenReturn(this.URI_TEMPLATE);
+
+        doThrow(new RuntimeException()).when(this.artefactRepository).deleteAll(anyIterable());
+
+        DeleteVaultInput input = DeleteVaultInput
+                .builder()
+                .vaultName(this.VAULT_NAME)
+                .build();
+
+        String content = this.objectMapper
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writeValueAsString(input);
+
+        mockMvc.perform(MockMvcRequestBuilders
+                        .delete(URI_TEMPLATE)
+                        .header("Authorization", getAuthHeaderValue(EXISTING_USER_1))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(content))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+
+        assertEquals(1, this.vaultRepository.count());
+
+        assertEquals(2, this.artefactRepository.count());
     }
 
     @SneakyThrows